@@ -0,0 +1,312 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Column-oriented storage for the cached roster, so that each employee costs a handful of array slots instead of an
+ * {@link Employee} with its {@link UUID}, boxed integers and strings.
+ *
+ * <p>Ids are kept as two {@code long} halves, salary and age as {@code int}s, titles as codes into a dictionary, and
+ * names and emails as UTF-8 in a shared byte arena. Each row also keeps its lower-cased name in the arena for
+ * {@link NameIndex}. {@link Employee} objects are only materialised by {@link #employee(int)}, when a response needs
+ * them. Missing values are stored as sentinels: the nil UUID for a missing id, {@link Integer#MIN_VALUE} for a missing
+ * salary or age, and a negative length or code for a missing string.
+ *
+ * <p>Rows stay in roster order. Every row gets a sequence number that only ever grows, so rows can be found by
+ * sequence with a binary search even after earlier rows were removed. Ids are looked up that way too: a
+ * {@link UuidIndex} maps each id to its row's sequence, so removing a row leaves every other entry as it was. Arena
+ * space freed by removals is reclaimed once it outweighs the live data. Not thread-safe; {@link EmployeeRoster} guards
+ * access.
+ */
+final class EmployeeColumns {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NULL_LENGTH = -1;
+
+    private int size;
+    private int nextSequence;
+    private int[] sequence = new int[16];
+    private long[] idHigh = new long[16];
+    private long[] idLow = new long[16];
+    private int[] salary = new int[16];
+    private int[] age = new int[16];
+    private int[] titleCode = new int[16];
+    private int[] offset = new int[16];
+    private int[] nameLength = new int[16];
+    private int[] lowerNameLength = new int[16];
+    private int[] emailLength = new int[16];
+
+    private final UuidIndex idIndex = new UuidIndex();
+    private int shadowedIds;
+    private final List<String> titles = new ArrayList<>();
+    private final Map<String, Integer> titleCodes = new HashMap<>();
+
+    private byte[] arena = new byte[1024];
+    private int arenaUsed;
+    private int arenaDead;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Bytes allocated for the columns and the id index, whether rows fill them or not.
+     */
+    long columnBytes() {
+        return (long) sequence.length * (8 * Integer.BYTES + 2 * Long.BYTES) + idIndex.bytes();
+    }
+
+    /**
+     * Arena bytes holding the strings of current rows.
+     */
+    int arenaBytesUsed() {
+        return arenaUsed - arenaDead;
+    }
+
+    /**
+     * Arena bytes left behind by removed rows, until the arena is compacted.
+     */
+    int arenaBytesDead() {
+        return arenaDead;
+    }
+
+    /**
+     * @return the new row's sequence number
+     */
+    int append(Employee employee) {
+        ensureCapacity(size + 1);
+        int row = size++;
+        int rowSequence = nextSequence++;
+        sequence[row] = rowSequence;
+        UUID id = employee.getId();
+        idHigh[row] = id == null ? 0 : id.getMostSignificantBits();
+        idLow[row] = id == null ? 0 : id.getLeastSignificantBits();
+        if (!idIndex.putIfAbsent(idHigh[row], idLow[row], rowSequence) && !isNilId(row)) {
+            shadowedIds++;
+        }
+        salary[row] = employee.getSalary() == null ? NULL_INT : employee.getSalary();
+        age[row] = employee.getAge() == null ? NULL_INT : employee.getAge();
+        titleCode[row] = encodeTitle(employee.getTitle());
+
+        String name = employee.getName();
+        byte[] nameBytes = utf8(name);
+        byte[] lowerNameBytes = name == null ? null : name.toLowerCase().getBytes(StandardCharsets.UTF_8);
+        byte[] emailBytes = utf8(employee.getEmail());
+        offset[row] = arenaUsed;
+        nameLength[row] = store(nameBytes);
+        lowerNameLength[row] = store(lowerNameBytes);
+        emailLength[row] = store(emailBytes);
+        return rowSequence;
+    }
+
+    void remove(int row) {
+        long removedHigh = idHigh[row];
+        long removedLow = idLow[row];
+        boolean unindexed = idIndex.remove(removedHigh, removedLow, sequence[row]);
+        if (!unindexed && !isNilId(row)) {
+            shadowedIds--;
+        }
+        arenaDead += bytesOf(row);
+        int tail = size - row - 1;
+        System.arraycopy(sequence, row + 1, sequence, row, tail);
+        System.arraycopy(idHigh, row + 1, idHigh, row, tail);
+        System.arraycopy(idLow, row + 1, idLow, row, tail);
+        System.arraycopy(salary, row + 1, salary, row, tail);
+        System.arraycopy(age, row + 1, age, row, tail);
+        System.arraycopy(titleCode, row + 1, titleCode, row, tail);
+        System.arraycopy(offset, row + 1, offset, row, tail);
+        System.arraycopy(nameLength, row + 1, nameLength, row, tail);
+        System.arraycopy(lowerNameLength, row + 1, lowerNameLength, row, tail);
+        System.arraycopy(emailLength, row + 1, emailLength, row, tail);
+        size--;
+        if (unindexed && shadowedIds > 0) {
+            reindexFirstRowWithId(removedHigh, removedLow);
+        }
+        if (arenaDead > arenaUsed - arenaDead) {
+            compactArena();
+        }
+    }
+
+    Employee employee(int row) {
+        UUID id = isNilId(row) ? null : new UUID(idHigh[row], idLow[row]);
+        return new Employee(
+                id,
+                name(row),
+                salary[row] == NULL_INT ? null : salary[row],
+                age[row] == NULL_INT ? null : age[row],
+                titleCode[row] < 0 ? null : titles.get(titleCode[row]),
+                decode(emailStart(row), emailLength[row]));
+    }
+
+    int sequence(int row) {
+        return sequence[row];
+    }
+
+    /**
+     * @return the row holding {@code rowSequence}, or -1 when it has been removed
+     */
+    int rowOf(int rowSequence) {
+        int row = Arrays.binarySearch(sequence, 0, size, rowSequence);
+        return row < 0 ? -1 : row;
+    }
+
+    /**
+     * @return the first row whose sequence number is greater than {@code rowSequence}, or {@link #size()}
+     */
+    int firstRowAfter(int rowSequence) {
+        int row = Arrays.binarySearch(sequence, 0, size, rowSequence);
+        return row < 0 ? -row - 1 : row + 1;
+    }
+
+    /**
+     * @return the first row with this id, or -1
+     */
+    int rowOfId(UUID id) {
+        int rowSequence = idIndex.get(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return rowSequence < 0 ? -1 : rowOf(rowSequence);
+    }
+
+    boolean hasSalary(int row) {
+        return salary[row] != NULL_INT;
+    }
+
+    int salary(int row) {
+        return salary[row];
+    }
+
+    String name(int row) {
+        return decode(offset[row], nameLength[row]);
+    }
+
+    String lowerName(int row) {
+        return decode(lowerNameStart(row), lowerNameLength[row]);
+    }
+
+    /**
+     * Whether the row's lower-cased name contains {@code lowerNeedle}, given as UTF-8. Matching UTF-8 bytes is
+     * equivalent to matching characters, and needs no decoding.
+     */
+    boolean lowerNameContains(int row, byte[] lowerNeedle) {
+        int length = lowerNameLength[row];
+        if (length < lowerNeedle.length) {
+            return false;
+        }
+        int start = lowerNameStart(row);
+        int last = start + length - lowerNeedle.length;
+        candidates:
+        for (int i = start; i <= last; i++) {
+            for (int j = 0; j < lowerNeedle.length; j++) {
+                if (arena[i + j] != lowerNeedle[j]) {
+                    continue candidates;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    boolean lowerNameEquals(int row, byte[] lowerName) {
+        int length = lowerNameLength[row];
+        int start = lowerNameStart(row);
+        return length == lowerName.length
+                && Arrays.equals(arena, start, start + length, lowerName, 0, lowerName.length);
+    }
+
+    /*
+     * Duplicate ids are only indexed by their first row, so removing it has to expose the next one. The upstream
+     * hands out unique ids, so this scan only runs while some row is shadowed by another with the same id.
+     */
+    private void reindexFirstRowWithId(long high, long low) {
+        for (int row = 0; row < size; row++) {
+            if (idLow[row] == low && idHigh[row] == high) {
+                idIndex.putIfAbsent(high, low, sequence[row]);
+                shadowedIds--;
+                return;
+            }
+        }
+    }
+
+    private boolean isNilId(int row) {
+        return idHigh[row] == 0 && idLow[row] == 0;
+    }
+
+    private int lowerNameStart(int row) {
+        return offset[row] + Math.max(nameLength[row], 0);
+    }
+
+    private int emailStart(int row) {
+        return lowerNameStart(row) + Math.max(lowerNameLength[row], 0);
+    }
+
+    private int bytesOf(int row) {
+        return Math.max(nameLength[row], 0) + Math.max(lowerNameLength[row], 0) + Math.max(emailLength[row], 0);
+    }
+
+    private int encodeTitle(String title) {
+        if (title == null) {
+            return NULL_LENGTH;
+        }
+        return titleCodes.computeIfAbsent(title, added -> {
+            titles.add(added);
+            return titles.size() - 1;
+        });
+    }
+
+    private int store(byte[] bytes) {
+        if (bytes == null) {
+            return NULL_LENGTH;
+        }
+        if (arenaUsed + bytes.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaUsed + bytes.length));
+        }
+        System.arraycopy(bytes, 0, arena, arenaUsed, bytes.length);
+        arenaUsed += bytes.length;
+        return bytes.length;
+    }
+
+    private String decode(int start, int length) {
+        return length < 0 ? null : new String(arena, start, length, StandardCharsets.UTF_8);
+    }
+
+    private void compactArena() {
+        byte[] compacted = new byte[Math.max(1024, (arenaUsed - arenaDead) * 2)];
+        int used = 0;
+        for (int row = 0; row < size; row++) {
+            int length = bytesOf(row);
+            System.arraycopy(arena, offset[row], compacted, used, length);
+            offset[row] = used;
+            used += length;
+        }
+        arena = compacted;
+        arenaUsed = used;
+        arenaDead = 0;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= sequence.length) {
+            return;
+        }
+        int capacity = Math.max(required, sequence.length * 2);
+        sequence = Arrays.copyOf(sequence, capacity);
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        salary = Arrays.copyOf(salary, capacity);
+        age = Arrays.copyOf(age, capacity);
+        titleCode = Arrays.copyOf(titleCode, capacity);
+        offset = Arrays.copyOf(offset, capacity);
+        nameLength = Arrays.copyOf(nameLength, capacity);
+        lowerNameLength = Arrays.copyOf(lowerNameLength, capacity);
+        emailLength = Arrays.copyOf(emailLength, capacity);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Cached copy of the upstream roster together with the structures derived from it. Mutations are applied by
+ * {@link EmployeeRosterCache} under its write lock, and reads happen under its read lock.
+ *
+ * <p>The roster is held column-wise in {@link EmployeeColumns}; {@link Employee} objects are only created for what a
+ * read returns, and are not retained.
+ */
+public class EmployeeRoster {
+
+    private final EmployeeColumns columns;
+    private final SalaryAggregates salaryAggregates;
+    private final NameIndex nameIndex;
+
+    private EmployeeRoster(EmployeeColumns columns, int topEarnersTracked) {
+        this.columns = columns;
+        this.salaryAggregates = new SalaryAggregates(topEarnersTracked, columns);
+        this.nameIndex = new NameIndex(columns);
+        this.salaryAggregates.rebuild();
+        this.nameIndex.rebuild();
+    }
+
+    /**
+     * Immutable copy of the roster in upstream order, materialised for this call.
+     */
+    public List<Employee> employees() {
+        List<Employee> employees = new ArrayList<>(columns.size());
+        for (int row = 0; row < columns.size(); row++) {
+            employees.add(columns.employee(row));
+        }
+        return Collections.unmodifiableList(employees);
+    }
+
+    /**
+     * Passes up to {@code limit} employees to {@code sink}, in roster order, starting after the one with sequence
+     * number {@code afterSequence}; -1 starts from the beginning. Rows removed or added meanwhile are skipped or
+     * picked up, since sequence numbers only grow.
+     *
+     * @return the sequence number of the last employee passed, or {@code afterSequence} when there was none
+     */
+    int forEachAfter(int afterSequence, int limit, Consumer<Employee> sink) {
+        int first = columns.firstRowAfter(afterSequence);
+        int end = (int) Math.min(columns.size(), (long) first + limit);
+        for (int row = first; row < end; row++) {
+            sink.accept(columns.employee(row));
+        }
+        return end > first ? columns.sequence(end - 1) : afterSequence;
+    }
+
+    public SalaryAggregates salaryAggregates() {
+        return salaryAggregates;
+    }
+
+    public NameIndex nameIndex() {
+        return nameIndex;
+    }
+
+    public Optional<Employee> findById(UUID id) {
+        int row = columns.rowOfId(id);
+        return row < 0 ? Optional.empty() : Optional.of(columns.employee(row));
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    public long columnBytes() {
+        return columns.columnBytes();
+    }
+
+    public long arenaBytesUsed() {
+        return columns.arenaBytesUsed();
+    }
+
+    public long arenaBytesDead() {
+        return columns.arenaBytesDead();
+    }
+
+    /**
+     * Mirrors the upstream, which appends newly created employees.
+     */
+    public void add(Employee employee) {
+        int row = columns.size();
+        columns.append(employee);
+        salaryAggregates.add(row);
+        nameIndex.add(row);
+    }
+
+    /**
+     * Mirrors the upstream delete, which removes the first employee whose name matches ignoring case. The match is
+     * found through the {@link NameIndex} and confirmed on the lower-cased bytes, without decoding any names.
+     */
+    public Optional<Employee> removeFirstByName(String name) {
+        int row = nameIndex.firstRowNamed(name);
+        return row < 0 ? Optional.empty() : Optional.of(removeRow(row));
+    }
+
+    boolean contains(UUID id) {
+        return columns.rowOfId(id) >= 0;
+    }
+
+    void remove(UUID id) {
+        int row = columns.rowOfId(id);
+        if (row >= 0) {
+            removeRow(row);
+        }
+    }
+
+    private Employee removeRow(int row) {
+        Employee removed = columns.employee(row);
+        int sequence = columns.sequence(row);
+        nameIndex.remove(row);
+        columns.remove(row);
+        salaryAggregates.remove(sequence);
+        return removed;
+    }
+
+    /**
+     * Appends employees to the columns as a {@link RosterSource} emits them; the derived structures are built once, on
+     * {@link #build()}.
+     */
+    static final class Builder implements Consumer<Employee> {
+
+        private final int topEarnersTracked;
+        private final EmployeeColumns columns = new EmployeeColumns();
+
+        Builder(int topEarnersTracked) {
+            this.topEarnersTracked = topEarnersTracked;
+        }
+
+        @Override
+        public void accept(Employee employee) {
+            columns.append(employee);
+        }
+
+        int size() {
+            return columns.size();
+        }
+
+        EmployeeRoster build() {
+            return new EmployeeRoster(columns, topEarnersTracked);
+        }
+    }
+}
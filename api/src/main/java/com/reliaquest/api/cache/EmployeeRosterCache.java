@@ -0,0 +1,512 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process snapshot of the upstream employee roster.
+ *
+ * <p>Reads within {@code ttl} are served from memory. Once the snapshot is older than {@code ttl} it is still served,
+ * while a single background refresh is started; past {@code ttl + maxStale} readers wait for a fresh load instead.
+ * At most one upstream load is in flight at any time, and concurrent readers share its result.
+ *
+ * <p>Successful writes are patched into the current roster with {@link #applyCreate} and {@link #applyDelete} rather
+ * than forcing a reload. Each patch is also journaled by employee id, and replayed onto a load that was running when
+ * it landed before that load is published, so the load cannot roll it back. Replaying is idempotent, since the load
+ * may already have seen the write.
+ *
+ * <p>When a load the reader has to wait for fails because the upstream is unavailable, the previous roster is served
+ * instead and the request is marked stale (see {@link Staleness}).
+ *
+ * <p>Callers that must not block, such as the reactive pipeline, load the roster themselves: they read with
+ * {@link #tryRead(Function, Runnable)}, which hands a stale roster's refresh back to them, and publish what they load
+ * through {@link #prepareLoad}. Such a cache is created without a {@link RosterSource}, so it never loads on its own.
+ */
+@Slf4j
+public class EmployeeRosterCache {
+
+    /** Patches kept for replay; a load that missed more writes than this is not published over the patched roster. */
+    private static final int JOURNAL_LIMIT = 10_000;
+
+    private final RosterSource source;
+    private final int topEarnersTracked;
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot>> inFlight = new AtomicReference<>();
+    private final AtomicLong patches = new AtomicLong();
+    private final Deque<Consumer<EmployeeRoster>> journal = new ArrayDeque<>();
+    private long journalStart;
+    private final ReadWriteLock rosterLock = new ReentrantReadWriteLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public EmployeeRosterCache(RosterSource source, int topEarnersTracked, Duration ttl, Duration maxStale) {
+        this(source, topEarnersTracked, ttl, maxStale, defaultRefreshExecutor(), System::nanoTime);
+    }
+
+    /**
+     * A cache its owner loads through {@link #prepareLoad}; it must only be read with
+     * {@link #tryRead(Function, Runnable)} and {@link #readLastKnown}, since any read that would load fails.
+     */
+    public EmployeeRosterCache(int topEarnersTracked, Duration ttl, Duration maxStale) {
+        this(
+                sink -> {
+                    throw new IllegalStateException("This roster is loaded by its owner, not by the cache");
+                },
+                topEarnersTracked,
+                ttl,
+                maxStale,
+                Runnable::run,
+                System::nanoTime);
+    }
+
+    EmployeeRosterCache(
+            Supplier<List<Employee>> loader,
+            int topEarnersTracked,
+            Duration ttl,
+            Duration maxStale,
+            Executor refreshExecutor,
+            LongSupplier nanoClock) {
+        this(sink -> loader.get().forEach(sink), topEarnersTracked, ttl, maxStale, refreshExecutor, nanoClock);
+    }
+
+    EmployeeRosterCache(
+            RosterSource source,
+            int topEarnersTracked,
+            Duration ttl,
+            Duration maxStale,
+            Executor refreshExecutor,
+            LongSupplier nanoClock) {
+        this.source = source;
+        this.topEarnersTracked = topEarnersTracked;
+        this.ttlNanos = ttl.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+    }
+
+    public List<Employee> get() {
+        return read(EmployeeRoster::employees);
+    }
+
+    /**
+     * Runs {@code reader} against the current roster, loading or refreshing it first as needed.
+     */
+    public <R> R read(Function<EmployeeRoster, R> reader) {
+        EmployeeRoster roster = currentSnapshot().roster();
+        rosterLock.readLock().lock();
+        try {
+            return reader.apply(roster);
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Opens a {@link Cursor} over the current roster, loading or refreshing it first as needed.
+     */
+    public Cursor cursor(int chunkSize) {
+        return new Cursor(currentSnapshot().roster(), chunkSize);
+    }
+
+    /**
+     * Runs {@code reader} against the current roster only if that needs no waiting, starting a background refresh when
+     * it is stale. Empty when the caller would have had to wait for a load. {@code reader} must not return
+     * {@code null}.
+     */
+    public <R> Optional<R> tryRead(Function<EmployeeRoster, R> reader) {
+        return tryRead(reader, () -> load(true));
+    }
+
+    /**
+     * Like {@link #tryRead(Function)}, but when the roster is stale runs {@code refresh} instead of the cache's own
+     * background load, for callers that load the roster themselves.
+     */
+    public <R> Optional<R> tryRead(Function<EmployeeRoster, R> reader, Runnable refresh) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        long age = nanoClock.getAsLong() - current.loadedAt();
+        if (age >= ttlNanos + maxStaleNanos) {
+            misses.increment();
+            return Optional.empty();
+        }
+        if (age >= ttlNanos) {
+            staleHits.increment();
+            refresh.run();
+        } else {
+            hits.increment();
+        }
+        rosterLock.readLock().lock();
+        try {
+            return Optional.of(reader.apply(current.roster()));
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Age of the cached roster, if any, regardless of whether it is still usable.
+     */
+    public Optional<Duration> lastKnownAge() {
+        Snapshot current = snapshot.get();
+        return current == null
+                ? Optional.empty()
+                : Optional.of(Duration.ofNanos(nanoClock.getAsLong() - current.loadedAt()));
+    }
+
+    /**
+     * Starts a load performed by the caller, who feeds the employees to the returned {@link PendingLoad} and then
+     * publishes it. Publishing follows the same rules as the cache's own loads, so a write patched in meanwhile is
+     * replayed rather than rolled back.
+     */
+    public PendingLoad prepareLoad() {
+        return new PendingLoad(new EmployeeRoster.Builder(topEarnersTracked), patches.get());
+    }
+
+    /**
+     * Runs {@code reader} against whatever roster is cached, without contacting the upstream, and marks the request
+     * stale. Empty when nothing has been loaded yet.
+     */
+    public <R> Optional<R> readLastKnown(Function<EmployeeRoster, R> reader) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return Optional.empty();
+        }
+        Staleness.record(Duration.ofNanos(nanoClock.getAsLong() - current.loadedAt()));
+        rosterLock.readLock().lock();
+        try {
+            return Optional.ofNullable(reader.apply(current.roster()));
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies an employee the upstream has just created to the cached roster, if one is cached.
+     */
+    public void applyCreate(Employee employee) {
+        rosterLock.writeLock().lock();
+        try {
+            Snapshot current = snapshot.get();
+            if (current != null) {
+                current.roster().add(employee);
+            }
+            journal(roster -> {
+                if (employee.getId() != null && !roster.contains(employee.getId())) {
+                    roster.add(employee);
+                }
+            });
+        } finally {
+            rosterLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies an upstream delete by name to the cached roster, if one is cached. It is replayed as the removal of the
+     * employee it took out; a delete that matched nothing cached is not replayed, since by name it could take out a
+     * different employee of the same name, and the next load catches up with it instead.
+     */
+    public void applyDelete(String name) {
+        rosterLock.writeLock().lock();
+        try {
+            Snapshot current = snapshot.get();
+            Optional<UUID> removed = current == null
+                    ? Optional.empty()
+                    : current.roster().removeFirstByName(name).map(Employee::getId);
+            journal(removed.<Consumer<EmployeeRoster>>map(id -> roster -> roster.remove(id))
+                    .orElse(roster -> {}));
+        } finally {
+            rosterLock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Called under the write lock. Patch n is journaled at position n - journalStart.
+     */
+    private void journal(Consumer<EmployeeRoster> replay) {
+        journal.addLast(replay);
+        if (journal.size() > JOURNAL_LIMIT) {
+            journal.removeFirst();
+            journalStart++;
+        }
+        patches.incrementAndGet();
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            misses.increment();
+            return loadOrFallBack(current);
+        }
+
+        long age = nanoClock.getAsLong() - current.loadedAt();
+        if (age < ttlNanos) {
+            hits.increment();
+            return current;
+        }
+        if (age < ttlNanos + maxStaleNanos) {
+            log.debug("Serving stale roster snapshot ({} ms old), refreshing in background", age / 1_000_000);
+            staleHits.increment();
+            load(true);
+            return current;
+        }
+        misses.increment();
+        return loadOrFallBack(current);
+    }
+
+    private Snapshot loadOrFallBack(Snapshot lastKnown) {
+        try {
+            return join(load(false));
+        } catch (ExternalServiceException e) {
+            if (lastKnown == null || !e.isUpstreamUnavailable()) {
+                throw e;
+            }
+            Duration age = Duration.ofNanos(nanoClock.getAsLong() - lastKnown.loadedAt());
+            if (e instanceof CircuitOpenException) {
+                log.debug(
+                        "Upstream unavailable ({}), serving roster snapshot {} s old", e.getMessage(), age.toSeconds());
+            } else {
+                log.warn(
+                        "Upstream unavailable ({}), serving roster snapshot {} s old", e.getMessage(), age.toSeconds());
+            }
+            Staleness.record(age);
+            return lastKnown;
+        }
+    }
+
+    /**
+     * Reads served from a fresh roster since creation.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Reads served from a stale roster while it was refreshed in the background.
+     */
+    public long staleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Reads that found no usable roster and had to wait for, or leave to the caller, a load.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Employees in the cached roster, or zero when nothing is cached.
+     */
+    public int size() {
+        return (int) measure(EmployeeRoster::size);
+    }
+
+    /**
+     * Bytes allocated for the cached roster's columns and id index, or zero when nothing is cached.
+     */
+    public long columnBytes() {
+        return measure(EmployeeRoster::columnBytes);
+    }
+
+    /**
+     * Bytes of the cached roster's string arena holding current employees, or zero when nothing is cached.
+     */
+    public long arenaBytesUsed() {
+        return measure(EmployeeRoster::arenaBytesUsed);
+    }
+
+    /**
+     * Bytes of the cached roster's string arena left by removed employees, or zero when nothing is cached.
+     */
+    public long arenaBytesDead() {
+        return measure(EmployeeRoster::arenaBytesDead);
+    }
+
+    private long measure(ToLongFunction<EmployeeRoster> measure) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return 0;
+        }
+        rosterLock.readLock().lock();
+        try {
+            return measure.applyAsLong(current.roster());
+        } finally {
+            rosterLock.readLock().unlock();
+        }
+    }
+
+    private CompletableFuture<Snapshot> load(boolean background) {
+        while (true) {
+            CompletableFuture<Snapshot> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+            CompletableFuture<Snapshot> created = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, created)) {
+                long patchesBefore = patches.get();
+                if (background) {
+                    refreshExecutor.execute(() -> runLoad(created, patchesBefore));
+                } else {
+                    runLoad(created, patchesBefore);
+                }
+                return created;
+            }
+        }
+    }
+
+    private void runLoad(CompletableFuture<Snapshot> target, long patchesBefore) {
+        try {
+            EmployeeRoster.Builder builder = new EmployeeRoster.Builder(topEarnersTracked);
+            source.load(builder);
+            target.complete(publish(builder.build(), patchesBefore));
+        } catch (Throwable e) {
+            // The circuit breaker already warns when it opens; the refreshes it turns away meanwhile are expected.
+            if (e instanceof CircuitOpenException) {
+                log.debug("Refreshing roster snapshot failed: {}", e.getMessage());
+            } else {
+                log.warn("Refreshing roster snapshot failed: {}", e.getMessage());
+            }
+            target.completeExceptionally(e);
+        } finally {
+            inFlight.compareAndSet(target, null);
+        }
+    }
+
+    /**
+     * Replays the patches that landed since the load started onto the loaded roster and publishes it.
+     *
+     * @return the snapshot to hand to the load's waiters
+     */
+    private Snapshot publish(EmployeeRoster loaded, long patchesBefore) {
+        rosterLock.writeLock().lock();
+        try {
+            Snapshot published = new Snapshot(loaded, nanoClock.getAsLong());
+            Snapshot current = snapshot.get();
+            if (patchesBefore < journalStart) {
+                if (current != null) {
+                    log.debug("Roster patches since the load started were dropped, keeping the patched snapshot");
+                    return published;
+                }
+            } else {
+                journal.stream().skip(patchesBefore - journalStart).forEach(replay -> replay.accept(loaded));
+                // Later loads started after this one, so they only need what follows.
+                while (journalStart < patchesBefore) {
+                    journal.removeFirst();
+                    journalStart++;
+                }
+            }
+            snapshot.set(published);
+            return published;
+        } finally {
+            rosterLock.writeLock().unlock();
+        }
+    }
+
+    private static Snapshot join(CompletableFuture<Snapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Executor defaultRefreshExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "roster-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public final class PendingLoad implements Consumer<Employee> {
+
+        private final EmployeeRoster.Builder builder;
+        private final long patchesBefore;
+
+        private PendingLoad(EmployeeRoster.Builder builder, long patchesBefore) {
+            this.builder = builder;
+            this.patchesBefore = patchesBefore;
+        }
+
+        @Override
+        public void accept(Employee employee) {
+            builder.accept(employee);
+        }
+
+        public int size() {
+            return builder.size();
+        }
+
+        public void publish() {
+            EmployeeRosterCache.this.publish(builder.build(), patchesBefore);
+        }
+    }
+
+    /**
+     * Hands out a roster's employees in roster order, a chunk at a time, so it can be written out without being
+     * copied first. Each chunk is read under the read lock, which is not held in between; writes landing meanwhile are
+     * seen if they affect rows not yet handed out. Not thread-safe.
+     */
+    public final class Cursor {
+
+        private final EmployeeRoster roster;
+        private final int chunkSize;
+        private int lastSequence = -1;
+
+        private Cursor(EmployeeRoster roster, int chunkSize) {
+            this.roster = roster;
+            this.chunkSize = Math.max(1, chunkSize);
+        }
+
+        /**
+         * @return the next employees, or an empty list once all have been handed out
+         */
+        public List<Employee> next() {
+            rosterLock.readLock().lock();
+            try {
+                List<Employee> chunk = new ArrayList<>(Math.min(chunkSize, roster.size()));
+                lastSequence = roster.forEachAfter(lastSequence, chunkSize, chunk::add);
+                return chunk;
+            } finally {
+                rosterLock.readLock().unlock();
+            }
+        }
+    }
+
+    private record Snapshot(EmployeeRoster roster, long loadedAt) {}
+}
@@ -0,0 +1,206 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Trigram inverted index over lower-cased employee names, answering the same question as
+ * {@code name.toLowerCase().contains(fragment.toLowerCase())} without lower-casing the roster per request.
+ *
+ * <p>Every employee whose lower-cased name contains the fragment also contains each of the fragment's trigrams, so
+ * intersecting their posting lists yields a superset of the matches; each candidate is then confirmed against the
+ * lower-cased name kept in the roster's {@link EmployeeColumns}. Postings hold row sequences rather than employees, so
+ * only the matches are ever materialised. Fragments shorter than a trigram fall back to a scan of the lower-cased
+ * names. Results come back in roster order. Not thread-safe; {@link EmployeeRoster} guards access.
+ */
+public class NameIndex {
+
+    private static final int GRAM = 3;
+
+    private final EmployeeColumns columns;
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    NameIndex(EmployeeColumns columns) {
+        this.columns = columns;
+    }
+
+    void rebuild() {
+        postings.clear();
+        for (int row = 0; row < columns.size(); row++) {
+            add(row);
+        }
+    }
+
+    void add(int row) {
+        String name = columns.lowerName(row);
+        if (name == null) {
+            return;
+        }
+        int sequence = columns.sequence(row);
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            long gram = gram(name, i);
+            if (isFirstOccurrence(name, i, gram)) {
+                postings.computeIfAbsent(gram, ignored -> new PostingList()).append(sequence);
+            }
+        }
+    }
+
+    /**
+     * Called before the row is removed from the columns, while its name can still be read.
+     */
+    void remove(int row) {
+        String name = columns.lowerName(row);
+        if (name == null) {
+            return;
+        }
+        int sequence = columns.sequence(row);
+        for (int i = 0; i + GRAM <= name.length(); i++) {
+            long gram = gram(name, i);
+            if (isFirstOccurrence(name, i, gram)) {
+                PostingList list = postings.get(gram);
+                list.remove(sequence);
+                if (list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    public List<Employee> search(String fragment) {
+        String needle = fragment.toLowerCase();
+        byte[] needleBytes = needle.getBytes(StandardCharsets.UTF_8);
+        List<Employee> matches = new ArrayList<>();
+        forEachCandidate(needle, row -> {
+            if (columns.lowerNameContains(row, needleBytes)) {
+                matches.add(columns.employee(row));
+            }
+            return true;
+        });
+        return matches;
+    }
+
+    /**
+     * The first row, in roster order, whose name equals {@code name} ignoring case, or -1 when there is none.
+     */
+    int firstRowNamed(String name) {
+        String lowerName = name.toLowerCase();
+        byte[] lowerNameBytes = lowerName.getBytes(StandardCharsets.UTF_8);
+        int[] found = {-1};
+        forEachCandidate(lowerName, row -> {
+            if (columns.lowerNameEquals(row, lowerNameBytes)) {
+                found[0] = row;
+                return false;
+            }
+            return true;
+        });
+        return found[0];
+    }
+
+    /**
+     * Passes {@code visitor} every row, in roster order, whose lower-cased name holds all of the needle's trigrams,
+     * or every row when the needle is shorter than a trigram, until the visitor returns {@code false}.
+     */
+    private void forEachCandidate(String needle, IntPredicate visitor) {
+        if (needle.length() < GRAM) {
+            for (int row = 0; row < columns.size(); row++) {
+                if (!visitor.test(row)) {
+                    return;
+                }
+            }
+            return;
+        }
+
+        PostingList[] lists = new PostingList[needle.length() - GRAM + 1];
+        for (int i = 0; i < lists.length; i++) {
+            PostingList list = postings.get(gram(needle, i));
+            if (list == null) {
+                return;
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        PostingList smallest = lists[0];
+        int[] cursors = new int[lists.length];
+        candidates:
+        for (int c = 0; c < smallest.size; c++) {
+            int candidate = smallest.sequences[c];
+            for (int l = 1; l < lists.length; l++) {
+                cursors[l] = lists[l].seek(candidate, cursors[l]);
+                if (cursors[l] == lists[l].size) {
+                    return;
+                }
+                if (lists[l].sequences[cursors[l]] != candidate) {
+                    continue candidates;
+                }
+            }
+            if (!visitor.test(columns.rowOf(candidate))) {
+                return;
+            }
+        }
+    }
+
+    private static long gram(String s, int start) {
+        return ((long) s.charAt(start) << 32) | ((long) s.charAt(start + 1) << 16) | s.charAt(start + 2);
+    }
+
+    /**
+     * A name repeating a trigram is posted once, so removal only has to undo first occurrences.
+     */
+    private static boolean isFirstOccurrence(String name, int position, long gram) {
+        for (int i = 0; i < position; i++) {
+            if (gram(name, i) == gram) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Row sequences in ascending order, i.e. roster order. Appends are amortised O(1) because sequences only grow.
+     */
+    private static final class PostingList {
+
+        private int[] sequences = new int[4];
+        private int size;
+
+        void append(int sequence) {
+            if (size == sequences.length) {
+                sequences = Arrays.copyOf(sequences, size * 2);
+            }
+            sequences[size++] = sequence;
+        }
+
+        void remove(int sequence) {
+            int index = seek(sequence, 0);
+            if (index < size && sequences[index] == sequence) {
+                System.arraycopy(sequences, index + 1, sequences, index, size - index - 1);
+                size--;
+            }
+        }
+
+        /**
+         * Index of the first entry at or after {@code from} that is not below {@code sequence}.
+         */
+        int seek(int sequence, int from) {
+            int low = from;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (sequences[mid] < sequence) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.function.Consumer;
+
+/**
+ * Where {@link EmployeeRosterCache} loads the roster from. Employees are pushed to the sink one at a time, in upstream
+ * order, so a source can hand them over as it decodes them rather than materialising the whole response first.
+ */
+@FunctionalInterface
+public interface RosterSource {
+
+    void load(Consumer<Employee> sink);
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.api.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Salary rankings for a roster, kept current as the roster changes.
+ *
+ * <p>Holds the {@code k} best-paid rows of the roster's {@link EmployeeColumns} in a bounded min-heap, by salary and
+ * row sequence only. Ties are broken by sequence, i.e. roster position, so results match a stable sort of the roster.
+ * Names are only decoded for the ranked rows, when the rankings change. Reads return values precomputed on the last
+ * change and never touch the roster. Not thread-safe; {@link EmployeeRoster} guards access.
+ */
+public class SalaryAggregates {
+
+    private static final Comparator<Ranked> WORST_FIRST = Comparator.comparingInt(Ranked::salary)
+            .thenComparing(Comparator.comparingInt(Ranked::sequence).reversed());
+
+    private final int k;
+    private final EmployeeColumns columns;
+    private final PriorityQueue<Ranked> heap;
+
+    private Integer highestSalary;
+    private List<String> topEarnerNames = List.of();
+
+    SalaryAggregates(int k, EmployeeColumns columns) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.columns = columns;
+        this.heap = new PriorityQueue<>(k + 1, WORST_FIRST);
+    }
+
+    public int capacity() {
+        return k;
+    }
+
+    public Optional<Integer> highestSalary() {
+        return Optional.ofNullable(highestSalary);
+    }
+
+    /**
+     * Names of the {@code n} best-paid employees, highest salary first; {@code n} must not exceed {@link #capacity()}.
+     */
+    public List<String> topEarnerNames(int n) {
+        if (n > k) {
+            throw new IllegalArgumentException("Requested top " + n + " but only " + k + " are tracked");
+        }
+        return topEarnerNames.size() <= n ? topEarnerNames : topEarnerNames.subList(0, n);
+    }
+
+    void rebuild() {
+        heap.clear();
+        for (int row = 0; row < columns.size(); row++) {
+            offer(row);
+        }
+        publish();
+    }
+
+    void add(int row) {
+        if (offer(row)) {
+            publish();
+        }
+    }
+
+    /**
+     * Called once the row holding {@code sequence} has been removed from the columns; when it was one of the ranked
+     * rows the next best has to be found, so the heap is rebuilt from the remaining rows.
+     */
+    void remove(int sequence) {
+        if (heap.removeIf(ranked -> ranked.sequence() == sequence)) {
+            rebuild();
+        }
+    }
+
+    private boolean offer(int row) {
+        if (!columns.hasSalary(row)) {
+            return false;
+        }
+        Ranked candidate = new Ranked(columns.salary(row), columns.sequence(row));
+        if (heap.size() < k) {
+            heap.add(candidate);
+            return true;
+        }
+        if (WORST_FIRST.compare(candidate, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(candidate);
+            return true;
+        }
+        return false;
+    }
+
+    private void publish() {
+        List<Ranked> ranked = new ArrayList<>(heap);
+        ranked.sort(WORST_FIRST.reversed());
+        highestSalary = ranked.isEmpty() ? null : ranked.get(0).salary();
+        topEarnerNames = ranked.stream()
+                .map(r -> columns.name(columns.rowOf(r.sequence())))
+                .toList();
+    }
+
+    private record Ranked(int salary, int sequence) {}
+}
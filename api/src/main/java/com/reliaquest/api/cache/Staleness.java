@@ -0,0 +1,43 @@
+package com.reliaquest.api.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.util.context.ContextView;
+
+/**
+ * Notes on the current web request that it was answered from cached data the upstream could not confirm, so the
+ * response can say so. Outside a web request (e.g. background refreshes) this is a no-op.
+ *
+ * <p>Reactive requests have no request attributes; they carry an {@code AtomicReference<Duration>} under
+ * {@link #CONTEXT_KEY} in their Reactor context instead.
+ */
+public final class Staleness {
+
+    private static final String AGE_ATTRIBUTE = Staleness.class.getName() + ".age";
+
+    public static final Class<Staleness> CONTEXT_KEY = Staleness.class;
+
+    private Staleness() {}
+
+    static void record(Duration age) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(AGE_ATTRIBUTE, age, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public static void record(ContextView context, Duration age) {
+        context.<AtomicReference<Duration>>getOrEmpty(CONTEXT_KEY).ifPresent(holder -> holder.set(age));
+    }
+
+    public static Optional<Duration> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((Duration) attributes.getAttribute(AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+}
@@ -0,0 +1,155 @@
+package com.reliaquest.api.cache;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from a UUID, given as its two {@code long} halves, to the sequence number of a row of
+ * {@link EmployeeColumns}.
+ *
+ * <p>Keys are kept in parallel primitive arrays and probed linearly, so a lookup neither boxes nor allocates a
+ * {@link java.util.UUID}. Sequence numbers never change, so removing a row only removes its own entry, however many
+ * rows move down in the columns. The table is kept at most half full, and deletions shift later entries back instead
+ * of leaving tombstones. The nil UUID cannot be indexed, since it stands for a missing id. Not thread-safe;
+ * {@link EmployeeRoster} guards access.
+ */
+final class UuidIndex {
+
+    private static final int NONE = -1;
+
+    private long[] high = new long[16];
+    private long[] low = new long[16];
+    private int[] sequences = filled(16);
+    private int size;
+
+    /**
+     * Bytes held by the table's arrays.
+     */
+    long bytes() {
+        return (long) sequences.length * (2 * Long.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * @return the sequence number indexed under this id, or -1
+     */
+    int get(long idHigh, long idLow) {
+        int mask = sequences.length - 1;
+        for (int slot = slot(idHigh, idLow, mask); sequences[slot] != NONE; slot = (slot + 1) & mask) {
+            if (low[slot] == idLow && high[slot] == idHigh) {
+                return sequences[slot];
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Indexes {@code sequence} unless the id is nil or already indexed, so the first row with an id wins.
+     *
+     * @return whether an entry was added
+     */
+    boolean putIfAbsent(long idHigh, long idLow, int sequence) {
+        if (idHigh == 0 && idLow == 0) {
+            return false;
+        }
+        if (size + 1 > sequences.length / 2) {
+            resize(sequences.length * 2);
+        }
+        int mask = sequences.length - 1;
+        int slot = slot(idHigh, idLow, mask);
+        while (sequences[slot] != NONE) {
+            if (low[slot] == idLow && high[slot] == idHigh) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        high[slot] = idHigh;
+        low[slot] = idLow;
+        sequences[slot] = sequence;
+        size++;
+        return true;
+    }
+
+    /**
+     * Unindexes the id if it currently points at {@code sequence}.
+     *
+     * @return whether an entry was removed
+     */
+    boolean remove(long idHigh, long idLow, int sequence) {
+        int mask = sequences.length - 1;
+        int slot = slot(idHigh, idLow, mask);
+        while (sequences[slot] != NONE) {
+            if (low[slot] == idLow && high[slot] == idHigh) {
+                if (sequences[slot] != sequence) {
+                    return false;
+                }
+                deleteAt(slot, mask);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /*
+     * Backward-shift deletion: moves later entries of the probe run into the gap when their home slot allows it, so
+     * lookups can keep stopping at the first empty slot.
+     */
+    private void deleteAt(int gap, int mask) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (sequences[slot] == NONE) {
+                break;
+            }
+            int home = slot(high[slot], low[slot], mask);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                high[gap] = high[slot];
+                low[gap] = low[slot];
+                sequences[gap] = sequences[slot];
+                gap = slot;
+            }
+        }
+        sequences[gap] = NONE;
+    }
+
+    private void resize(int capacity) {
+        long[] oldHigh = high;
+        long[] oldLow = low;
+        int[] oldSequences = sequences;
+        high = new long[capacity];
+        low = new long[capacity];
+        sequences = filled(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldSequences.length; i++) {
+            if (oldSequences[i] != NONE) {
+                int slot = slot(oldHigh[i], oldLow[i], mask);
+                while (sequences[slot] != NONE) {
+                    slot = (slot + 1) & mask;
+                }
+                high[slot] = oldHigh[i];
+                low[slot] = oldLow[i];
+                sequences[slot] = oldSequences[i];
+            }
+        }
+    }
+
+    /*
+     * Random UUIDs hash well on their own, but time-based ones share most of their high bits, so both halves are
+     * mixed with the murmur3 finaliser.
+     */
+    private static int slot(long idHigh, long idLow, int mask) {
+        long h = idHigh * 0x9E3779B97F4A7C15L ^ idLow;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static int[] filled(int capacity) {
+        int[] sequences = new int[capacity];
+        Arrays.fill(sequences, NONE);
+        return sequences;
+    }
+}
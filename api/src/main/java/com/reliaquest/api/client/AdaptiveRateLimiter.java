@@ -0,0 +1,139 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.RequestThrottledException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token bucket pacing outgoing upstream calls, whose rate adapts to what the upstream tolerates.
+ *
+ * <p>The rate grows additively with every successful call and is cut multiplicatively on every 429, so it settles
+ * just under the upstream's budget instead of repeatedly tripping it. A {@code Retry-After} from the upstream pauses
+ * all calls until it has passed. Callers wait for a token for at most {@code maxWait}; beyond that, and while paused,
+ * they fail fast with a {@link RequestThrottledException} rather than spending a request that is bound to be
+ * rejected.
+ */
+@Slf4j
+public class AdaptiveRateLimiter {
+
+    private final double minRate;
+    private final double maxRate;
+    private final double increasePerSuccess;
+    private final double decreaseFactor;
+    private final double burst;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoClock;
+
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+    private long rateLimitedResponses;
+    private long throttledCalls;
+
+    public AdaptiveRateLimiter(
+            double initialRate,
+            double minRate,
+            double maxRate,
+            double increasePerSuccess,
+            double decreaseFactor,
+            double burst,
+            Duration maxWait) {
+        this(initialRate, minRate, maxRate, increasePerSuccess, decreaseFactor, burst, maxWait, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(
+            double initialRate,
+            double minRate,
+            double maxRate,
+            double increasePerSuccess,
+            double decreaseFactor,
+            double burst,
+            Duration maxWait,
+            LongSupplier nanoClock) {
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increasePerSuccess = increasePerSuccess;
+        this.decreaseFactor = decreaseFactor;
+        this.burst = burst;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.nanoClock = nanoClock;
+        this.rate = Math.max(minRate, Math.min(maxRate, initialRate));
+        this.tokens = burst;
+        this.lastRefill = nanoClock.getAsLong();
+        this.pausedUntil = lastRefill;
+    }
+
+    /**
+     * Takes a token without blocking; the caller waits out the returned delay on its own, by sleeping or with a
+     * reactive delay.
+     *
+     * @return how long the caller must wait before making its call, in nanoseconds
+     * @throws RequestThrottledException when the upstream has asked us to back off, or when the wait would exceed
+     *     {@code maxWait}
+     */
+    public synchronized long reserve() {
+        long now = nanoClock.getAsLong();
+        if (now - pausedUntil < 0) {
+            throttledCalls++;
+            throw new RequestThrottledException(
+                    "Upstream rate limit in effect for another " + (pausedUntil - now) / 1_000_000 + " ms");
+        }
+        refill(now);
+        long waitNanos = tokens >= 1 ? 0 : (long) ((1 - tokens) / rate * 1e9);
+        if (waitNanos > maxWaitNanos) {
+            throttledCalls++;
+            throw new RequestThrottledException("Upstream request budget exhausted, try again later");
+        }
+        tokens -= 1;
+        return waitNanos;
+    }
+
+    public synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + increasePerSuccess);
+    }
+
+    /**
+     * Records a 429 from the upstream.
+     *
+     * @param retryAfter how long the upstream asked us to wait, or {@code null} when it did not say
+     */
+    public synchronized void onRateLimited(Duration retryAfter) {
+        long now = nanoClock.getAsLong();
+        refill(now);
+        rateLimitedResponses++;
+        rate = Math.max(minRate, rate * decreaseFactor);
+        tokens = Math.min(tokens, 0);
+        if (retryAfter != null) {
+            pausedUntil = now + retryAfter.toNanos();
+        }
+        log.warn(
+                "Upstream rate limited us, pacing at {} req/s{}",
+                String.format("%.2f", rate),
+                retryAfter == null ? "" : " after pausing " + retryAfter.toMillis() + " ms");
+    }
+
+    public synchronized double currentRate() {
+        return rate;
+    }
+
+    /**
+     * 429s received from the upstream since creation.
+     */
+    public synchronized long rateLimitedResponses() {
+        return rateLimitedResponses;
+    }
+
+    /**
+     * Calls refused without contacting the upstream since creation.
+     */
+    public synchronized long throttledCalls() {
+        return throttledCalls;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefill) / 1e9 * rate);
+        lastRefill = now;
+    }
+}
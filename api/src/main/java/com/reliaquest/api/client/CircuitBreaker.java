@@ -0,0 +1,235 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.exception.RequestThrottledException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Count-based circuit breaker for upstream calls.
+ *
+ * <p>While {@link State#CLOSED}, outcomes of the last {@code windowSize} calls are kept in a ring buffer; once at least
+ * {@code minimumCalls} are recorded and the share of failures reaches {@code failureRateThreshold}, the circuit opens.
+ * While {@link State#OPEN}, calls fail immediately with {@link CircuitOpenException}. After {@code openDuration} the
+ * circuit turns {@link State#HALF_OPEN} and lets {@code halfOpenCalls} trial calls through: if they all succeed it
+ * closes again, and any failure reopens it.
+ *
+ * <p>Only exceptions matching {@code isFailure} count against the upstream; anything else, such as a 404, is
+ * recorded as a success. A {@link RequestThrottledException} is raised by our own pacing before the upstream is
+ * called, so it records nothing and hands its permission back, as does a call that is cancelled or that fails with
+ * an {@link Error}, which says nothing about the upstream.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final Predicate<Throwable> isFailure;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermitsIssued;
+    private int halfOpenSuccesses;
+    private long rejectedCalls;
+    private long transitions;
+
+    public CircuitBreaker(
+            String name,
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            Duration openDuration,
+            int halfOpenCalls,
+            Predicate<Throwable> isFailure) {
+        this(
+                name,
+                windowSize,
+                minimumCalls,
+                failureRateThreshold,
+                openDuration,
+                halfOpenCalls,
+                isFailure,
+                System::nanoTime);
+    }
+
+    CircuitBreaker(
+            String name,
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            Duration openDuration,
+            int halfOpenCalls,
+            Predicate<Throwable> isFailure,
+            LongSupplier nanoClock) {
+        this.name = name;
+        this.outcomes = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, outcomes.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+        this.isFailure = isFailure;
+        this.nanoClock = nanoClock;
+    }
+
+    public <T> T call(Supplier<T> action) {
+        acquirePermission();
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error e) {
+            record(e);
+            throw e;
+        }
+        record(null);
+        return result;
+    }
+
+    /**
+     * For calls that complete asynchronously: take a permission before starting the call, then {@link #record} its
+     * outcome exactly once, or {@link #release} the permission when it is cancelled.
+     *
+     * @throws CircuitOpenException when the call must not be made
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            if (!openElapsed()) {
+                rejectedCalls++;
+                throw new CircuitOpenException("Upstream " + name + " is unavailable, not calling it for another "
+                        + (openDurationNanos - (nanoClock.getAsLong() - openedAt)) / 1_000_000 + " ms");
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitsIssued >= halfOpenCalls) {
+                rejectedCalls++;
+                throw new CircuitOpenException("Upstream " + name + " is being probed, try again shortly");
+            }
+            halfOpenPermitsIssued++;
+        }
+    }
+
+    /**
+     * Records the outcome of a permitted call.
+     *
+     * @param error what the call failed with, or {@code null} when it succeeded
+     */
+    public void record(Throwable error) {
+        if (error instanceof RequestThrottledException || error instanceof Error) {
+            release();
+        } else if (error != null && isFailure.test(error)) {
+            onFailure();
+        } else {
+            onSuccess();
+        }
+    }
+
+    /**
+     * Hands back the permission of a call that never got an answer from the upstream, recording no outcome, so that a
+     * half-open probe can be retried by another call.
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && halfOpenPermitsIssued > 0) {
+            halfOpenPermitsIssued--;
+        }
+    }
+
+    /**
+     * Calls refused because the circuit was open or its half-open probes were taken, since creation.
+     */
+    public synchronized long rejectedCalls() {
+        return rejectedCalls;
+    }
+
+    public synchronized long transitions() {
+        return transitions;
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && openElapsed()) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private synchronized void onSuccess() {
+        switch (state) {
+            case CLOSED -> recordOutcome(false);
+            case HALF_OPEN -> {
+                if (++halfOpenSuccesses >= halfOpenCalls) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // A call admitted before the circuit opened; its outcome no longer matters.
+            }
+        }
+    }
+
+    private synchronized void onFailure() {
+        switch (state) {
+            case CLOSED -> {
+                recordOutcome(true);
+                if (recorded >= minimumCalls && (double) failures / recorded >= failureRateThreshold) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> transitionTo(State.OPEN);
+            case OPEN -> {
+                // Already open.
+            }
+        }
+    }
+
+    private void recordOutcome(boolean failure) {
+        if (recorded == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private boolean openElapsed() {
+        return nanoClock.getAsLong() - openedAt >= openDurationNanos;
+    }
+
+    private void transitionTo(State target) {
+        log.warn("Circuit for {} moved from {} to {}", name, state, target);
+        state = target;
+        transitions++;
+        halfOpenPermitsIssued = 0;
+        halfOpenSuccesses = 0;
+        if (target == State.OPEN) {
+            openedAt = nanoClock.getAsLong();
+        }
+        if (target == State.CLOSED) {
+            next = 0;
+            recorded = 0;
+            failures = 0;
+        }
+    }
+}
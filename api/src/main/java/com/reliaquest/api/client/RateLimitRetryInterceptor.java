@@ -0,0 +1,199 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Paces upstream calls through an {@link AdaptiveRateLimiter} and retries the ones that are safe to retry.
+ *
+ * <p>A 429 is retried for any method, since the upstream rejects it before doing any work. A 5xx or I/O error is only
+ * retried for GET, because the upstream DELETE removes by name and is not idempotent. Delays use exponential backoff
+ * with full jitter, or the upstream's {@code Retry-After} when it sends one. Retries also need a token from the shared
+ * {@link RetryBudget}. When the upstream asks for a longer wait than {@code maxRetryAfter}, the 429 is returned at once
+ * rather than holding the request thread.
+ *
+ * <p>Time spent waiting, for the pacer or between attempts, is observed as {@code upstream.wait} with its
+ * {@code reason}, so a trace of the call shows queueing apart from the attempts themselves.
+ *
+ * <p>Must be the last interceptor, so that each attempt re-executes only the actual HTTP request.
+ */
+@Slf4j
+public class RateLimitRetryInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final RetryBudget retryBudget;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Duration maxRetryAfter;
+    private final Sleeper sleeper;
+    private final ObservationRegistry observationRegistry;
+
+    public RateLimitRetryInterceptor(
+            AdaptiveRateLimiter rateLimiter,
+            RetryBudget retryBudget,
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            Duration maxRetryAfter,
+            ObservationRegistry observationRegistry) {
+        this(
+                rateLimiter,
+                retryBudget,
+                maxAttempts,
+                initialBackoff,
+                maxBackoff,
+                maxRetryAfter,
+                Sleeper.THREAD,
+                observationRegistry);
+    }
+
+    RateLimitRetryInterceptor(
+            AdaptiveRateLimiter rateLimiter,
+            RetryBudget retryBudget,
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            Duration maxRetryAfter,
+            Sleeper sleeper) {
+        this(
+                rateLimiter,
+                retryBudget,
+                maxAttempts,
+                initialBackoff,
+                maxBackoff,
+                maxRetryAfter,
+                sleeper,
+                ObservationRegistry.NOOP);
+    }
+
+    RateLimitRetryInterceptor(
+            AdaptiveRateLimiter rateLimiter,
+            RetryBudget retryBudget,
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            Duration maxRetryAfter,
+            Sleeper sleeper,
+            ObservationRegistry observationRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.retryBudget = retryBudget;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.maxRetryAfter = maxRetryAfter;
+        this.sleeper = sleeper;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        retryBudget.recordRequest();
+        boolean idempotent = HttpMethod.GET.equals(request.getMethod());
+
+        for (int attempt = 1; ; attempt++) {
+            long pacingNanos = rateLimiter.reserve();
+            if (pacingNanos > 0) {
+                pause("pacing", pacingNanos);
+            }
+
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (IOException e) {
+                if (!idempotent || !canRetry(attempt)) {
+                    throw e;
+                }
+                log.warn("{} {} failed ({}), retrying", request.getMethod(), request.getURI(), e.getMessage());
+                pause("backoff", backoff(attempt));
+                continue;
+            }
+
+            HttpStatusCode status = response.getStatusCode();
+            if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                Duration retryAfter = retryAfter(response.getHeaders());
+                rateLimiter.onRateLimited(retryAfter);
+                if (retryAfter != null && retryAfter.compareTo(maxRetryAfter) > 0) {
+                    return response;
+                }
+                if (!canRetry(attempt)) {
+                    return response;
+                }
+                response.close();
+                pause("backoff", retryAfter != null ? retryAfter.toNanos() : backoff(attempt));
+            } else if (status.is5xxServerError() && idempotent && canRetry(attempt)) {
+                log.warn("{} {} returned {}, retrying", request.getMethod(), request.getURI(), status.value());
+                response.close();
+                pause("backoff", backoff(attempt));
+            } else {
+                if (!status.isError()) {
+                    rateLimiter.onSuccess();
+                }
+                return response;
+            }
+        }
+    }
+
+    private boolean canRetry(int attempt) {
+        return attempt < maxAttempts && retryBudget.tryAcquireRetry();
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void pause(String reason, long nanos) throws InterruptedIOException {
+        Observation observation = Observation.createNotStarted("upstream.wait", observationRegistry)
+                .contextualName("wait for " + reason)
+                .lowCardinalityKeyValue("reason", reason)
+                .start();
+        try {
+            sleeper.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            observation.error(e);
+            throw new InterruptedIOException("Interrupted while waiting for " + reason);
+        } finally {
+            observation.stop();
+        }
+    }
+
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            // Not delta-seconds, so it has to be an HTTP-date.
+        }
+        try {
+            Instant until = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .toInstant();
+            Duration remaining = Duration.between(Instant.now(), until);
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.RequestThrottledException;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.DeleteEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.Response;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Non-blocking counterpart of the {@code RestTemplate} path to the upstream employee API.
+ *
+ * <p>Applies the same policies as {@link RateLimitRetryInterceptor} and the service's {@link CircuitBreaker}, without
+ * parking a thread: pacing and backoff are Reactor delays instead of sleeps. The roster is decoded token by token as
+ * the body arrives, so the first employees can be passed on before the upstream has finished sending.
+ */
+@Slf4j
+public class ReactiveEmployeeClient {
+
+    private static final ParameterizedTypeReference<Response<Employee>> EMPLOYEE_TYPE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<Boolean>> BOOLEAN_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveRateLimiter rateLimiter;
+    private final RetryBudget retryBudget;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Duration maxRetryAfter;
+
+    public ReactiveEmployeeClient(
+            WebClient webClient,
+            ObjectMapper objectMapper,
+            CircuitBreaker circuitBreaker,
+            AdaptiveRateLimiter rateLimiter,
+            RetryBudget retryBudget,
+            int maxAttempts,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            Duration maxRetryAfter) {
+        this.webClient = webClient;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+        this.retryBudget = retryBudget;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.maxRetryAfter = maxRetryAfter;
+    }
+
+    /**
+     * The upstream roster, emitted as it is decoded. Only failures before the first employee are retried, so
+     * subscribers never see duplicates.
+     */
+    public Flux<Employee> streamEmployees() {
+        return guarded(
+                HttpMethod.GET,
+                () -> exchange(webClient.get(), response -> decodeRoster(response.bodyToFlux(DataBuffer.class))));
+    }
+
+    public Mono<Employee> fetchEmployeeById(UUID id) {
+        return guarded(
+                        HttpMethod.GET,
+                        () -> exchange(webClient.get().uri("/{id}", id), response -> response.bodyToMono(EMPLOYEE_TYPE)
+                                .mapNotNull(Response::data)))
+                .singleOrEmpty();
+    }
+
+    public Mono<Employee> createEmployee(CreateEmployeeRequest request) {
+        return guarded(
+                        HttpMethod.POST,
+                        () -> exchange(
+                                webClient.post().bodyValue(request),
+                                response -> response.bodyToMono(EMPLOYEE_TYPE).mapNotNull(Response::data)))
+                .singleOrEmpty();
+    }
+
+    public Mono<Boolean> deleteEmployeeByName(String name) {
+        return guarded(
+                        HttpMethod.DELETE,
+                        () -> exchange(
+                                webClient.method(HttpMethod.DELETE).bodyValue(new DeleteEmployeeRequest(name)),
+                                response -> response.bodyToMono(BOOLEAN_TYPE).mapNotNull(Response::data)))
+                .singleOrEmpty();
+    }
+
+    private <T> Flux<T> guarded(HttpMethod method, Supplier<Flux<T>> call) {
+        Flux<T> attempt = pace().thenMany(Flux.defer(() -> {
+            circuitBreaker.acquirePermission();
+            return call.get()
+                    .doOnComplete(() -> circuitBreaker.record(null))
+                    .doOnError(circuitBreaker::record)
+                    .doOnCancel(circuitBreaker::release);
+        }));
+        return Flux.defer(() -> {
+            retryBudget.recordRequest();
+            return attempt.retryWhen(retryPolicy(method));
+        });
+    }
+
+    private Mono<Void> pace() {
+        return Mono.defer(() -> {
+            long waitNanos = rateLimiter.reserve();
+            return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).then() : Mono.empty();
+        });
+    }
+
+    private <T> Flux<T> exchange(
+            WebClient.RequestHeadersSpec<?> request, Function<ClientResponse, ? extends Publisher<T>> body) {
+        return request.exchangeToFlux(response -> {
+                    HttpStatusCode status = response.statusCode();
+                    if (status.is2xxSuccessful()) {
+                        rateLimiter.onSuccess();
+                        return Flux.from(body.apply(response));
+                    }
+                    HttpHeaders headers = response.headers().asHttpHeaders();
+                    return response.releaseBody().thenMany(Flux.error(failure(status, headers)));
+                })
+                .onErrorMap(
+                        WebClientRequestException.class,
+                        e -> new ExternalServiceException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage()));
+    }
+
+    private ExternalServiceException failure(HttpStatusCode status, HttpHeaders headers) {
+        String message = "Upstream responded " + status.value();
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            Duration retryAfter = RateLimitRetryInterceptor.retryAfter(headers);
+            rateLimiter.onRateLimited(retryAfter);
+            return new RateLimitedResponse(message, retryAfter);
+        }
+        return new ExternalServiceException(status, message);
+    }
+
+    /*
+     * Mirrors RateLimitRetryInterceptor: 429 is retried for any method, 5xx and connection failures only for GET, each
+     * retry needs a token from the shared budget, and a Retry-After longer than maxRetryAfter is not waited out.
+     * Failures raised locally (open circuit, exhausted pacing) are never retried.
+     */
+    private Retry retryPolicy(HttpMethod method) {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            long attempt = signal.totalRetries() + 1;
+            Duration delay = retryDelay(method, failure, attempt);
+            if (delay == null) {
+                return Mono.error(failure);
+            }
+            log.warn("{} upstream call failed ({}), retrying", method, failure.getMessage());
+            return Mono.delay(delay);
+        }));
+    }
+
+    private Duration retryDelay(HttpMethod method, Throwable failure, long attempt) {
+        if (attempt >= maxAttempts
+                || !(failure instanceof ExternalServiceException upstream)
+                || failure instanceof CircuitOpenException
+                || failure instanceof RequestThrottledException
+                || !upstream.isUpstreamUnavailable()) {
+            return null;
+        }
+        Duration retryAfter = null;
+        if (failure instanceof RateLimitedResponse rateLimited) {
+            retryAfter = rateLimited.retryAfter;
+            if (retryAfter != null && retryAfter.compareTo(maxRetryAfter) > 0) {
+                return null;
+            }
+        } else if (!HttpMethod.GET.equals(method)) {
+            return null;
+        }
+        if (!retryBudget.tryAcquireRetry()) {
+            return null;
+        }
+        return retryAfter != null ? retryAfter : Duration.ofNanos(backoff(attempt));
+    }
+
+    private long backoff(long attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 30));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private Flux<Employee> decodeRoster(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            JsonParser parser;
+            try {
+                parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+            ByteArrayFeeder feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            RosterJsonReader reader = new RosterJsonReader(objectMapper, parser);
+            return body.concatMapIterable(buffer -> {
+                        try {
+                            byte[] bytes = new byte[buffer.readableByteCount()];
+                            buffer.read(bytes);
+                            feeder.feedInput(bytes, 0, bytes.length);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                        return drain(reader);
+                    })
+                    .concatWith(Flux.defer(() -> {
+                        feeder.endOfInput();
+                        return Flux.fromIterable(drain(reader));
+                    }))
+                    .doFinally(signal -> {
+                        try {
+                            parser.close();
+                        } catch (IOException ignored) {
+                            // Nothing left to release.
+                        }
+                    });
+        });
+    }
+
+    private static List<Employee> drain(RosterJsonReader reader) {
+        List<Employee> decoded = new ArrayList<>();
+        try {
+            reader.read(decoded::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return decoded;
+    }
+
+    private static final class RateLimitedResponse extends ExternalServiceException {
+
+        private final transient Duration retryAfter;
+
+        RateLimitedResponse(String message, Duration retryAfter) {
+            super(HttpStatus.TOO_MANY_REQUESTS, message);
+            this.retryAfter = retryAfter;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical upstream reads into one call.
+ *
+ * <p>The first caller for a key becomes the leader and makes the call on its own thread; callers arriving while it is
+ * in flight wait on the leader's {@link CompletableFuture} and receive the same result or exception, errors included.
+ * The key is released as soon as the call completes, so nothing is cached beyond the lifetime of the call. Only use it
+ * for reads, where sharing one response between callers is safe.
+ */
+public class RequestCoalescer {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            followers.increment();
+            return (T) join(leader);
+        }
+
+        leaders.increment();
+        try {
+            T result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Calls actually made, one per coalesced group.
+     */
+    public long leaderCount() {
+        return leaders.sum();
+    }
+
+    /**
+     * Callers served by another caller's call.
+     */
+    public long followerCount() {
+        return followers.sum();
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Global allowance for retries, shared by all upstream calls.
+ *
+ * <p>Every first attempt deposits {@code ratio} of a retry and every retry spends a whole one, so under sustained
+ * failure retries add at most {@code ratio} extra load on top of the original requests. The balance starts at, and is
+ * capped by, {@code reserve} retries so that an isolated failure after a quiet period can still be retried.
+ */
+public class RetryBudget {
+
+    private static final long UNIT = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final LongAdder retriesGranted = new LongAdder();
+    private final LongAdder retriesDenied = new LongAdder();
+
+    public RetryBudget(double ratio, int reserve) {
+        this.depositPerRequest = Math.round(ratio * UNIT);
+        this.maxBalance = reserve * UNIT;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public void recordRequest() {
+        balance.getAndUpdate(current -> Math.min(maxBalance, current + depositPerRequest));
+    }
+
+    public boolean tryAcquireRetry() {
+        while (true) {
+            long current = balance.get();
+            if (current < UNIT) {
+                retriesDenied.increment();
+                return false;
+            }
+            if (balance.compareAndSet(current, current - UNIT)) {
+                retriesGranted.increment();
+                return true;
+            }
+        }
+    }
+
+    public double availableRetries() {
+        return (double) balance.get() / UNIT;
+    }
+
+    public long retriesGranted() {
+        return retriesGranted.sum();
+    }
+
+    public long retriesDenied() {
+        return retriesDenied.sum();
+    }
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.function.Consumer;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Reads the employees out of an upstream {@code {"data": [...], ...}} envelope one at a time, at the token level,
+ * instead of binding the whole body first.
+ *
+ * <p>Works with both blocking and non-blocking Jackson parsers: {@link #read} consumes whatever tokens are available
+ * and returns, keeping its position in the document, so it can be called again as more input is fed in. Each instance
+ * reads a single document and is not thread-safe. A document without a {@code data} array is a failed fetch, as an
+ * empty roster would otherwise be cached in its place.
+ */
+public class RosterJsonReader {
+
+    private static final String DATA_FIELD = "data";
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+
+    private int depth;
+    private boolean dataFieldNext;
+    private boolean inData;
+    private boolean dataSeen;
+    private TokenBuffer element;
+    private int elementDepth;
+
+    public RosterJsonReader(ObjectMapper objectMapper, JsonParser parser) {
+        this.objectMapper = objectMapper;
+        this.parser = parser;
+    }
+
+    /**
+     * Passes every employee that can be completed from the input available so far to {@code sink}.
+     *
+     * @return {@code false} once the end of the document has been reached
+     * @throws ExternalServiceException when the document ended without a {@code data} array
+     */
+    public boolean read(Consumer<Employee> sink) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            if (token == JsonToken.NOT_AVAILABLE) {
+                return true;
+            }
+            if (element != null) {
+                element.copyCurrentEvent(parser);
+                elementDepth += nesting(token);
+                if (elementDepth == 0) {
+                    sink.accept(objectMapper.readValue(element.asParser(objectMapper), Employee.class));
+                    element = null;
+                }
+                continue;
+            }
+            if (inData && depth == 2 && token == JsonToken.START_OBJECT) {
+                element = new TokenBuffer(parser, null);
+                element.copyCurrentEvent(parser);
+                elementDepth = 1;
+                continue;
+            }
+            if (depth == 1 && token == JsonToken.FIELD_NAME) {
+                dataFieldNext = DATA_FIELD.equals(parser.currentName());
+                continue;
+            }
+            if (inData && depth == 2 && token == JsonToken.END_ARRAY) {
+                inData = false;
+            } else if (dataFieldNext && depth == 1 && token == JsonToken.START_ARRAY) {
+                inData = true;
+                dataSeen = true;
+            }
+            dataFieldNext = false;
+            depth += nesting(token);
+        }
+        if (!dataSeen) {
+            throw new ExternalServiceException(HttpStatus.INTERNAL_SERVER_ERROR, "Fetching employees failed");
+        }
+        return false;
+    }
+
+    private static int nesting(JsonToken token) {
+        if (token.isStructStart()) {
+            return 1;
+        }
+        return token.isStructEnd() ? -1 : 0;
+    }
+}
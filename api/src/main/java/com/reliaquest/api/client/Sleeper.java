@@ -0,0 +1,12 @@
+package com.reliaquest.api.client;
+
+/**
+ * Blocking pause used for pacing and backoff; swapped out in tests.
+ */
+@FunctionalInterface
+interface Sleeper {
+
+    Sleeper THREAD = nanos -> Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+
+    void sleep(long nanos) throws InterruptedException;
+}
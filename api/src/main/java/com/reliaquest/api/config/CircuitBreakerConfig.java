@@ -0,0 +1,29 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.exception.ExternalServiceException;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CircuitBreakerConfig {
+
+    @Bean
+    public CircuitBreaker upstreamCircuitBreaker(
+            @Value("${external.api.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${external.api.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${external.api.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${external.api.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${external.api.circuit-breaker.half-open-calls:2}") int halfOpenCalls) {
+        return new CircuitBreaker(
+                "employee-upstream",
+                windowSize,
+                minimumCalls,
+                failureRateThreshold,
+                openDuration,
+                halfOpenCalls,
+                ExternalServiceException::isUpstreamFailure);
+    }
+}
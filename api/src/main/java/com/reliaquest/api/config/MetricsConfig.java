@@ -0,0 +1,109 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.RetryBudget;
+import com.reliaquest.api.service.ExternalEmployeeService;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters for the upstream policies and the roster cache. They read counts the components keep anyway, only when
+ * scraped, so a request records nothing beyond incrementing a counter. Request and upstream call timers come from
+ * Spring Boot's own {@code http.server.requests} and {@code http.client.requests}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final String UPSTREAM = "employee-upstream";
+
+    @Bean
+    public MeterBinder upstreamPolicyMetrics(
+            CircuitBreaker upstreamCircuitBreaker,
+            AdaptiveRateLimiter upstreamRateLimiter,
+            RetryBudget upstreamRetryBudget) {
+        return registry -> {
+            Gauge.builder("upstream.circuit.state", upstreamCircuitBreaker, breaker -> breaker.state()
+                            .ordinal())
+                    .description("0 closed, 1 open, 2 half-open")
+                    .tag("upstream", UPSTREAM)
+                    .register(registry);
+            FunctionCounter.builder("upstream.circuit.transitions", upstreamCircuitBreaker, CircuitBreaker::transitions)
+                    .tag("upstream", UPSTREAM)
+                    .register(registry);
+            FunctionCounter.builder("upstream.circuit.rejected", upstreamCircuitBreaker, CircuitBreaker::rejectedCalls)
+                    .description("Calls refused while the circuit was open")
+                    .tag("upstream", UPSTREAM)
+                    .register(registry);
+            FunctionCounter.builder(
+                            "upstream.rate.limited", upstreamRateLimiter, AdaptiveRateLimiter::rateLimitedResponses)
+                    .description("429 responses received from the upstream")
+                    .tag("upstream", UPSTREAM)
+                    .register(registry);
+            FunctionCounter.builder("upstream.throttled", upstreamRateLimiter, AdaptiveRateLimiter::throttledCalls)
+                    .description("Calls refused locally to stay within the upstream's rate limit")
+                    .tag("upstream", UPSTREAM)
+                    .register(registry);
+            Gauge.builder("upstream.pacing.rate", upstreamRateLimiter, AdaptiveRateLimiter::currentRate)
+                    .description("Requests per second the upstream is currently paced at")
+                    .tag("upstream", UPSTREAM)
+                    .register(registry);
+            FunctionCounter.builder("upstream.retries", upstreamRetryBudget, RetryBudget::retriesGranted)
+                    .tags("upstream", UPSTREAM, "outcome", "granted")
+                    .register(registry);
+            FunctionCounter.builder("upstream.retries", upstreamRetryBudget, RetryBudget::retriesDenied)
+                    .tags("upstream", UPSTREAM, "outcome", "denied")
+                    .register(registry);
+            Gauge.builder("upstream.retry.budget", upstreamRetryBudget, RetryBudget::availableRetries)
+                    .tag("upstream", UPSTREAM)
+                    .register(registry);
+        };
+    }
+
+    /*
+     * Only one of the services exists, depending on whether the servlet or the reactive stack runs.
+     */
+    @Bean
+    public MeterBinder rosterCacheMetrics(
+            ObjectProvider<ExternalEmployeeService> externalEmployeeService,
+            ObjectProvider<ReactiveEmployeeService> reactiveEmployeeService) {
+        return registry -> {
+            ExternalEmployeeService servletService = externalEmployeeService.getIfAvailable();
+            EmployeeRosterCache cache = servletService != null
+                    ? servletService.rosterCache()
+                    : reactiveEmployeeService.getObject().rosterCache();
+            FunctionCounter.builder("roster.cache.reads", cache, EmployeeRosterCache::hits)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("roster.cache.reads", cache, EmployeeRosterCache::staleHits)
+                    .tag("result", "stale")
+                    .register(registry);
+            FunctionCounter.builder("roster.cache.reads", cache, EmployeeRosterCache::misses)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("roster.cache.size", cache, EmployeeRosterCache::size)
+                    .description("Employees in the cached roster")
+                    .register(registry);
+            Gauge.builder("roster.cache.columns.size", cache, EmployeeRosterCache::columnBytes)
+                    .description("Arrays allocated for the cached roster's columns and id index")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("roster.cache.arena.size", cache, EmployeeRosterCache::arenaBytesUsed)
+                    .description("Names and emails of the cached roster")
+                    .tag("state", "used")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("roster.cache.arena.size", cache, EmployeeRosterCache::arenaBytesDead)
+                    .description("Names and emails of the cached roster")
+                    .tag("state", "dead")
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.observability.RequestSummaryFilter;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Request summaries are sampled at {@code api.request-log.sample-rate}, 1% by default, while failed requests and those
+ * slower than {@code api.request-log.slow-threshold} are always logged. On the servlet stack the filter runs just inside
+ * Boot's observation filter, so summaries carry the trace id; the reactive stack logs them from
+ * {@link com.reliaquest.api.controller.ReactiveRequestSummaryFilter}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestLogConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestSummaryFilter> requestSummaryFilterRegistration(
+            @Value("${api.request-log.sample-rate:0.01}") double sampleRate,
+            @Value("${api.request-log.slow-threshold:1s}") Duration slowThreshold) {
+        FilterRegistrationBean<RequestSummaryFilter> registration =
+                new FilterRegistrationBean<>(new RequestSummaryFilter(sampleRate, slowThreshold));
+        registration.setAsyncSupported(true);
+        registration.setDispatcherTypes(DispatcherType.REQUEST);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -1,15 +1,114 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.RateLimitRetryInterceptor;
+import com.reliaquest.api.client.RetryBudget;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+import java.time.Duration;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RestTemplateConfig {
 
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.build();
+    public PoolingHttpClientConnectionManager upstreamConnectionManager(
+            @Value("${external.api.http.max-connections:50}") int maxConnections,
+            @Value("${external.api.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${external.api.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${external.api.http.read-timeout:5s}") Duration readTimeout) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient upstreamHttpClient(
+            PoolingHttpClientConnectionManager upstreamConnectionManager,
+            @Value("${external.api.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${external.api.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${external.api.http.idle-eviction:30s}") Duration idleEviction,
+            @Value("${external.api.http.keep-alive:30s}") Duration keepAlive) {
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .setKeepAliveStrategy(cappedKeepAlive(TimeValue.of(keepAlive)))
+                .evictIdleConnections(TimeValue.of(idleEviction))
+                .evictExpiredConnections()
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public RateLimitRetryInterceptor rateLimitRetryInterceptor(
+            AdaptiveRateLimiter upstreamRateLimiter,
+            RetryBudget upstreamRetryBudget,
+            @Value("${external.api.retry.max-attempts:3}") int maxAttempts,
+            @Value("${external.api.retry.initial-backoff:100ms}") Duration initialBackoff,
+            @Value("${external.api.retry.max-backoff:2s}") Duration maxBackoff,
+            @Value("${external.api.retry.max-retry-after:2s}") Duration maxRetryAfter,
+            ObservationRegistry observationRegistry) {
+        return new RateLimitRetryInterceptor(
+                upstreamRateLimiter,
+                upstreamRetryBudget,
+                maxAttempts,
+                initialBackoff,
+                maxBackoff,
+                maxRetryAfter,
+                observationRegistry);
+    }
+
+    @Bean
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            CloseableHttpClient upstreamHttpClient,
+            RateLimitRetryInterceptor rateLimitRetryInterceptor) {
+        return builder.requestFactory(() -> new HttpComponentsClientHttpRequestFactory(upstreamHttpClient))
+                .additionalInterceptors(rateLimitRetryInterceptor)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder upstreamConnectionPoolMetrics(PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(upstreamConnectionManager, "employee-upstream");
+    }
+
+    /*
+     * Honours a shorter Keep-Alive timeout advertised by the upstream, but never keeps a connection longer than we
+     * are configured to.
+     */
+    private static ConnectionKeepAliveStrategy cappedKeepAlive(TimeValue max) {
+        DefaultConnectionKeepAliveStrategy advertised = new DefaultConnectionKeepAliveStrategy();
+        return (response, context) -> {
+            TimeValue requested = advertised.getKeepAliveDuration(response, context);
+            return TimeValue.isPositive(requested) && requested.compareTo(max) < 0 ? requested : max;
+        };
     }
 }
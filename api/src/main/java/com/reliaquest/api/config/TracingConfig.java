@@ -0,0 +1,26 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.observability.SpanFileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Incoming requests and upstream calls are traced by Spring Boot, and the W3C {@code traceparent} header carries the
+ * trace on to the server. Sampled spans are only written out when {@code api.tracing.file} names a file to append them
+ * to.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty("api.tracing.file")
+    public SpanFileWriter spanFileWriter(@Value("${api.tracing.file}") Path file, ObjectMapper objectMapper)
+            throws IOException {
+        return new SpanFileWriter(file, objectMapper);
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.RetryBudget;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Pacing and retry budget for upstream calls, shared by the {@code RestTemplate} and {@code WebClient} paths.
+ */
+@Configuration
+public class UpstreamPacingConfig {
+
+    @Bean
+    public AdaptiveRateLimiter upstreamRateLimiter(
+            @Value("${external.api.rate-limit.initial-rate:5}") double initialRate,
+            @Value("${external.api.rate-limit.min-rate:0.1}") double minRate,
+            @Value("${external.api.rate-limit.max-rate:100}") double maxRate,
+            @Value("${external.api.rate-limit.increase-per-success:0.05}") double increasePerSuccess,
+            @Value("${external.api.rate-limit.decrease-factor:0.5}") double decreaseFactor,
+            @Value("${external.api.rate-limit.burst:5}") double burst,
+            @Value("${external.api.rate-limit.max-wait:1s}") Duration maxWait) {
+        return new AdaptiveRateLimiter(
+                initialRate, minRate, maxRate, increasePerSuccess, decreaseFactor, burst, maxWait);
+    }
+
+    @Bean
+    public RetryBudget upstreamRetryBudget(
+            @Value("${external.api.retry.budget-ratio:0.2}") double ratio,
+            @Value("${external.api.retry.budget-reserve:10}") int reserve) {
+        return new RetryBudget(ratio, reserve);
+    }
+}
@@ -0,0 +1,84 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.AdaptiveRateLimiter;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.ReactiveEmployeeClient;
+import com.reliaquest.api.client.RetryBudget;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Upstream client for the reactive variant, sized from the same {@code external.api.http} settings as the
+ * {@code RestTemplate} pool. The connection pool bounds how many upstream calls are in flight; further calls queue for
+ * a connection for at most {@code pool-acquire-timeout}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WebClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider(
+            @Value("${external.api.http.max-connections:50}") int maxConnections,
+            @Value("${external.api.http.pool-acquire-timeout:1s}") Duration poolAcquireTimeout,
+            @Value("${external.api.http.idle-eviction:30s}") Duration idleEviction,
+            @Value("${external.api.http.keep-alive:30s}") Duration keepAlive) {
+        return ConnectionProvider.builder("employee-upstream")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(idleEviction)
+                .maxLifeTime(keepAlive)
+                .evictInBackground(idleEviction)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient upstreamWebClient(
+            WebClient.Builder builder,
+            ConnectionProvider upstreamConnectionProvider,
+            @Value("${external.api.url}") String externalApiUrl,
+            @Value("${external.api.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${external.api.http.read-timeout:5s}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.create(upstreamConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        return builder.baseUrl(externalApiUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .build();
+    }
+
+    @Bean
+    public ReactiveEmployeeClient reactiveEmployeeClient(
+            WebClient upstreamWebClient,
+            ObjectMapper objectMapper,
+            CircuitBreaker upstreamCircuitBreaker,
+            AdaptiveRateLimiter upstreamRateLimiter,
+            RetryBudget upstreamRetryBudget,
+            @Value("${external.api.retry.max-attempts:3}") int maxAttempts,
+            @Value("${external.api.retry.initial-backoff:100ms}") Duration initialBackoff,
+            @Value("${external.api.retry.max-backoff:2s}") Duration maxBackoff,
+            @Value("${external.api.retry.max-retry-after:2s}") Duration maxRetryAfter) {
+        return new ReactiveEmployeeClient(
+                upstreamWebClient,
+                objectMapper,
+                upstreamCircuitBreaker,
+                upstreamRateLimiter,
+                upstreamRetryBudget,
+                maxAttempts,
+                initialBackoff,
+                maxBackoff,
+                maxRetryAfter);
+    }
+}
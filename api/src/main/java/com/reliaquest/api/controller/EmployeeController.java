@@ -1,48 +1,80 @@
 package com.reliaquest.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.Staleness;
 import com.reliaquest.api.exception.BadRequestException;
 import com.reliaquest.api.model.*;
 import com.reliaquest.api.service.ExternalEmployeeService;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Slf4j
 @RestController
 @RequestMapping("api/v1/employee")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeRequest> {
 
     private final ExternalEmployeeService externalEmployeeService;
+    private final ObjectMapper objectMapper;
 
     @Override
     @GetMapping()
     public ResponseEntity<List<Employee>> getAllEmployees() {
-        log.info("Handling GET request for all employees");
+        log.debug("Handling GET request for all employees");
         return ResponseEntity.ok(externalEmployeeService.fetchEmployees());
     }
 
+    /**
+     * The same roster as {@link #getAllEmployees()}, written as newline-delimited JSON one employee at a time rather
+     * than serialized into a single array first. Selected with {@code Accept: application/x-ndjson}.
+     *
+     * <p>Employees are read from the cached roster a chunk at a time as the response is written, so the request never
+     * holds more than a chunk of them. The roster is loaded, if need be, before the response starts, so an unavailable
+     * upstream still turns into an error status.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        log.debug("Handling streaming GET request for all employees");
+        EmployeeRosterCache.Cursor employees = externalEmployeeService.employeeCursor();
+        HttpHeaders headers = new HttpHeaders();
+        Staleness.current().ifPresent(age -> StalenessHeaderAdvice.addHeaders(headers, age));
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> writeNdjson(employees, out));
+    }
+
     @Override
     @GetMapping("/search")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@RequestParam(value = "name") String searchString) {
-        log.info("Handling search request for employees with name containing '{}'", searchString);
-        List<Employee> filteredEmployees = externalEmployeeService.fetchEmployees().stream()
-                .filter(employee -> employee.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .toList();
+        log.debug("Handling search request for employees with name containing '{}'", searchString);
+        List<Employee> filteredEmployees = externalEmployeeService.searchEmployeesByName(searchString);
         if (filteredEmployees.isEmpty()) {
-            log.info("No matching employees for {}", searchString);
+            log.debug("No matching employees for {}", searchString);
             return ResponseEntity.notFound().build();
         }
-        log.info("Found {} matching employees", filteredEmployees.size());
+        log.debug("Found {} matching employees", filteredEmployees.size());
         return ResponseEntity.ok(filteredEmployees);
     }
 
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") String id) {
-        log.info("Handling GET request for employee ID: {}", id);
+        log.debug("Handling GET request for employee ID: {}", id);
         try {
             return externalEmployeeService
                     .fetchEmployeeById(id)
@@ -58,28 +90,50 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
     @Override
     @GetMapping("/highest-salary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        log.info("Handling GET request for highest salary");
+        log.debug("Handling GET request for highest salary");
         return externalEmployeeService.getHighestSalary();
     }
 
     @Override
     @GetMapping("/top-ten-highest-earning-employees")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        log.info("Handling GET request for top 10 highest earning employees");
+        log.debug("Handling GET request for top 10 highest earning employees");
         return externalEmployeeService.getTopTenHighestEarningEmployeeNames();
     }
 
     @Override
     @PostMapping
     public ResponseEntity<Employee> createEmployee(@RequestBody CreateEmployeeRequest employeeInput) {
-        log.info("Handling POST request to create employee: {}", employeeInput);
+        log.debug("Handling POST request to create employee: {}", employeeInput);
         return ResponseEntity.ok(externalEmployeeService.createEmployee(employeeInput));
     }
 
     @Override
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable("id") String id) {
-        log.info("Handling DELETE request for employee ID: {}", id);
+        log.debug("Handling DELETE request for employee ID: {}", id);
         return externalEmployeeService.deleteEmployeeById(id);
     }
+
+    /*
+     * Flushes after the first employee so it leaves straight away, then lets the response buffer decide.
+     */
+    private void writeNdjson(EmployeeRosterCache.Cursor employees, OutputStream out) throws IOException {
+        ObjectWriter writer =
+                objectMapper.writerFor(Employee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            boolean first = true;
+            for (List<Employee> chunk = employees.next(); !chunk.isEmpty(); chunk = employees.next()) {
+                for (Employee employee : chunk) {
+                    writer.writeValue(generator, employee);
+                    generator.writeRaw('\n');
+                    if (first) {
+                        generator.flush();
+                        first = false;
+                    }
+                }
+            }
+        }
+    }
 }
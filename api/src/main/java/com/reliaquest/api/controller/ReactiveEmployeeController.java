@@ -0,0 +1,100 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.BadRequestException;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same routes and responses as {@link EmployeeController}, served by WebFlux when the application runs with the
+ * {@code reactive} profile. It cannot implement {@link IEmployeeController}, whose methods return plain
+ * {@link ResponseEntity} values.
+ */
+@Slf4j
+@RestController
+@RequestMapping("api/v1/employee")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @GetMapping()
+    public Flux<Employee> getAllEmployees() {
+        log.debug("Handling GET request for all employees");
+        return employeeService.fetchEmployees();
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @RequestParam(value = "name") String searchString) {
+        log.debug("Handling search request for employees with name containing '{}'", searchString);
+        return employeeService.searchEmployeesByName(searchString).map(filteredEmployees -> {
+            if (filteredEmployees.isEmpty()) {
+                log.debug("No matching employees for {}", searchString);
+                return ResponseEntity.notFound().build();
+            }
+            log.debug("Found {} matching employees", filteredEmployees.size());
+            return ResponseEntity.ok(filteredEmployees);
+        });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") String id) {
+        log.debug("Handling GET request for employee ID: {}", id);
+        return employeeService
+                .fetchEmployeeById(parseId(id))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/highest-salary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        log.debug("Handling GET request for highest salary");
+        return employeeService
+                .getHighestSalary()
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/top-ten-highest-earning-employees")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        log.debug("Handling GET request for top 10 highest earning employees");
+        return employeeService
+                .getTopTenHighestEarningEmployeeNames()
+                .map(names -> names.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(names));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody CreateEmployeeRequest employeeInput) {
+        log.debug("Handling POST request to create employee: {}", employeeInput);
+        return employeeService.createEmployee(employeeInput).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable("id") String id) {
+        log.debug("Handling DELETE request for employee ID: {}", id);
+        return employeeService
+                .deleteEmployeeById(parseId(id))
+                .map(name -> ResponseEntity.ok("Employee " + name + " deleted successfully."))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid UUID format: {}", id);
+            throw new BadRequestException("Invalid UUID format: " + id);
+        }
+    }
+}
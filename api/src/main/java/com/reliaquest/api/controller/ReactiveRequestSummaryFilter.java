@@ -0,0 +1,51 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.observability.RequestSummaryFilter;
+import com.reliaquest.observability.RequestSummaryLog;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Reactive counterpart of {@link RequestSummaryFilter}. A request that fails past the filter chain is logged as a 500,
+ * since the exception handlers that pick its actual status run afterwards.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestSummaryFilter implements WebFilter {
+
+    private final RequestSummaryLog summaryLog;
+
+    public ReactiveRequestSummaryFilter(
+            @Value("${api.request-log.sample-rate:0.01}") double sampleRate,
+            @Value("${api.request-log.slow-threshold:1s}") Duration slowThreshold) {
+        this.summaryLog = new RequestSummaryLog(sampleRate, slowThreshold.toNanos());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        long started = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            ServerHttpRequest request = exchange.getRequest();
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            summaryLog.record(
+                    request.getMethod().name(),
+                    request.getPath().value(),
+                    exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                    signal == SignalType.ON_ERROR ? 500 : status == null ? 200 : status.value(),
+                    System.nanoTime() - started);
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cache.Staleness;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link StalenessHeaderAdvice}: gives each request a place in its Reactor context to record
+ * {@link Staleness}, and adds the same headers before the response is committed.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveStalenessFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        AtomicReference<Duration> age = new AtomicReference<>();
+        exchange.getResponse().beforeCommit(() -> {
+            Duration stale = age.get();
+            if (stale != null) {
+                StalenessHeaderAdvice.addHeaders(exchange.getResponse().getHeaders(), stale);
+            }
+            return Mono.empty();
+        });
+        return chain.filter(exchange).contextWrite(context -> context.put(Staleness.CONTEXT_KEY, age));
+    }
+}
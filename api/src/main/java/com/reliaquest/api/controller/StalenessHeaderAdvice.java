@@ -0,0 +1,47 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.cache.Staleness;
+import java.time.Duration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Flags responses served from the last known roster while the upstream was unavailable, using the standard
+ * {@code Age} header and a {@code 110 Response is Stale} warning.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class StalenessHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        Staleness.current().ifPresent(age -> addHeaders(response.getHeaders(), age));
+        return body;
+    }
+
+    /**
+     * For responses that bypass message converters, such as streamed ones, and so never reach this advice.
+     */
+    static void addHeaders(HttpHeaders headers, Duration age) {
+        headers.set(HttpHeaders.AGE, Long.toString(age.toSeconds()));
+        headers.set(HttpHeaders.WARNING, "110 - \"Response is Stale\"");
+    }
+}
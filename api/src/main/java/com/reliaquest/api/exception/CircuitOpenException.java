@@ -0,0 +1,9 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class CircuitOpenException extends ExternalServiceException {
+    public CircuitOpenException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+}
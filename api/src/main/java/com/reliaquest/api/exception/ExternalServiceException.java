@@ -11,4 +11,16 @@ public class ExternalServiceException extends RuntimeException {
         super(message);
         this.status = status;
     }
+
+    /**
+     * Whether the upstream could not serve the call at all (rate limited, erroring or unreachable), as opposed to
+     * rejecting this particular request.
+     */
+    public boolean isUpstreamUnavailable() {
+        return status.value() == 429 || status.is5xxServerError();
+    }
+
+    public static boolean isUpstreamFailure(Throwable e) {
+        return e instanceof ExternalServiceException ex && ex.isUpstreamUnavailable();
+    }
 }
@@ -0,0 +1,9 @@
+package com.reliaquest.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class RequestThrottledException extends ExternalServiceException {
+    public RequestThrottledException(String message) {
+        super(HttpStatus.TOO_MANY_REQUESTS, message);
+    }
+}
@@ -1,78 +1,167 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.client.RequestCoalescer;
+import com.reliaquest.api.client.RosterJsonReader;
+import com.reliaquest.api.exception.CircuitOpenException;
 import com.reliaquest.api.exception.ExternalServiceException;
 import com.reliaquest.api.model.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 @Slf4j
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ExternalEmployeeService {
 
+    private static final int TOP_EARNERS_REPORTED = 10;
+    private static final int STREAM_CHUNK_SIZE = 256;
+
     private final RestTemplate restTemplate;
     private final String externalApiUrl;
+    private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private final EmployeeRosterCache rosterCache;
 
-    public ExternalEmployeeService(@Value("${external.api.url}") String externalApiUrl, RestTemplate restTemplate) {
+    public ExternalEmployeeService(
+            @Value("${external.api.url}") String externalApiUrl,
+            RestTemplate restTemplate,
+            ObjectMapper objectMapper,
+            CircuitBreaker upstreamCircuitBreaker,
+            @Value("${external.api.cache.ttl:30s}") Duration cacheTtl,
+            @Value("${external.api.cache.max-stale:5m}") Duration cacheMaxStale,
+            @Value("${external.api.cache.top-earners-tracked:10}") int topEarnersTracked) {
         this.restTemplate = restTemplate;
         this.externalApiUrl = externalApiUrl;
+        this.objectMapper = objectMapper;
+        this.circuitBreaker = upstreamCircuitBreaker;
+        this.rosterCache = new EmployeeRosterCache(
+                this::streamEmployees, Math.max(topEarnersTracked, TOP_EARNERS_REPORTED), cacheTtl, cacheMaxStale);
     }
 
-    public static final ParameterizedTypeReference<Response<List<Employee>>> EMPLOYEE_LIST_TYPE =
-            new ParameterizedTypeReference<>() {};
     public static final ParameterizedTypeReference<Response<Employee>> EMPLOYEE_TYPE =
             new ParameterizedTypeReference<>() {};
     public static final ParameterizedTypeReference<Response<Boolean>> BOOLEAN_TYPE =
             new ParameterizedTypeReference<>() {};
 
+    /**
+     * The cached roster, for instrumentation.
+     */
+    public EmployeeRosterCache rosterCache() {
+        return rosterCache;
+    }
+
     public List<Employee> fetchEmployees() {
+        return rosterCache.get();
+    }
+
+    /**
+     * The cached roster, to be read a chunk at a time while a response is written rather than copied up front.
+     */
+    public EmployeeRosterCache.Cursor employeeCursor() {
+        return rosterCache.cursor(STREAM_CHUNK_SIZE);
+    }
+
+    /*
+     * Decodes the roster token by token straight off the response stream, handing each employee to the sink as soon as
+     * it is complete, so neither the body nor a Response<List<Employee>> is ever held in full. The roster cache already
+     * makes this a single flight, so it bypasses the request coalescer.
+     */
+    private void streamEmployees(Consumer<Employee> sink) {
         log.debug("Fetching all employees from {}", externalApiUrl);
-        return makeApiCall(externalApiUrl, HttpMethod.GET, null, EMPLOYEE_LIST_TYPE)
-                .map(response -> {
-                    log.info("Fetched {} employees", response.size());
-                    return response;
-                })
-                .orElseThrow(() ->
-                        new ExternalServiceException(HttpStatus.INTERNAL_SERVER_ERROR, "Fetching employees failed"));
+        int fetched = guarded(() -> restTemplate.execute(
+                URI.create(externalApiUrl),
+                HttpMethod.GET,
+                request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                response -> readRoster(response.getBody(), sink)));
+        log.info("Fetched {} employees", fetched);
+    }
+
+    private int readRoster(InputStream body, Consumer<Employee> sink) throws IOException {
+        int[] count = {0};
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            new RosterJsonReader(objectMapper, parser).read(employee -> {
+                count[0]++;
+                sink.accept(employee);
+            });
+        }
+        return count[0];
+    }
+
+    public List<Employee> searchEmployeesByName(String nameFragment) {
+        return rosterCache.read(roster -> roster.nameIndex().search(nameFragment));
     }
 
+    /*
+     * Answered from the cached roster when it is usable and holds the employee. Otherwise the upstream is asked, since
+     * the employee may have been created after the roster was loaded.
+     */
     public Optional<Employee> fetchEmployeeById(String id) {
         UUID uuid = UUID.fromString(id);
-        String url = externalApiUrl + "/" + uuid;
+        Optional<Employee> cached =
+                rosterCache.tryRead(roster -> roster.findById(uuid)).flatMap(found -> found);
+        if (cached.isPresent()) {
+            log.debug("Serving employee {} from the cached roster", uuid);
+            return cached;
+        }
+
         log.debug("Fetching employee by ID: {}", uuid);
 
-        return makeApiCall(url, HttpMethod.GET, null, EMPLOYEE_TYPE);
+        try {
+            return fetchUpstreamEmployee(uuid);
+        } catch (CircuitOpenException e) {
+            Optional<Employee> lastKnown =
+                    rosterCache.readLastKnown(roster -> roster.findById(uuid).orElse(null));
+            if (lastKnown.isEmpty()) {
+                throw e;
+            }
+            log.warn("Upstream unavailable, serving employee {} from the last known roster", uuid);
+            return lastKnown;
+        }
+    }
+
+    private Optional<Employee> fetchUpstreamEmployee(UUID uuid) {
+        // The id is a URI variable so upstream spans and metrics are grouped by template rather than by employee.
+        return makeApiCall(externalApiUrl + "/{id}", HttpMethod.GET, null, EMPLOYEE_TYPE, uuid);
     }
 
     public ResponseEntity<Integer> getHighestSalary() {
-        List<Employee> employees = fetchEmployees();
-        return employees.stream()
-                .max(Comparator.comparingInt(Employee::getSalary))
-                .map(Employee::getSalary)
+        return rosterCache
+                .read(roster -> roster.salaryAggregates().highestSalary())
                 .map(salary -> {
-                    log.info("Highest salary found: {}", salary);
+                    log.debug("Highest salary found: {}", salary);
                     return ResponseEntity.ok(salary);
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        List<String> topTenEmployees = fetchEmployees().stream()
-                .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
-                .limit(10)
-                .map(Employee::getName)
-                .toList();
+        List<String> topTenEmployees =
+                rosterCache.read(roster -> roster.salaryAggregates().topEarnerNames(TOP_EARNERS_REPORTED));
 
         if (topTenEmployees.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
-        log.info("Top 10 highest earning employees fetched successfully");
+        log.debug("Top 10 highest earning employees fetched successfully");
         return ResponseEntity.ok(topTenEmployees);
     }
 
@@ -83,7 +172,8 @@ public class ExternalEmployeeService {
 
         return makeApiCall(externalApiUrl, HttpMethod.POST, requestEntity, EMPLOYEE_TYPE)
                 .map(employee -> {
-                    log.info("Employee created successfully: {}", employee.getName());
+                    log.debug("Employee created successfully: {}", employee.getName());
+                    rosterCache.applyCreate(employee);
                     return employee;
                 })
                 .orElseThrow(() ->
@@ -92,7 +182,9 @@ public class ExternalEmployeeService {
 
     public ResponseEntity<String> deleteEmployeeById(String id) {
         UUID uuid = UUID.fromString(id);
-        Optional<Employee> findEmployee = fetchEmployeeById(uuid.toString());
+        // The upstream deletes by name, so the name must come from the upstream itself rather than a cached roster
+        // that may be minutes old and could now name a different employee.
+        Optional<Employee> findEmployee = fetchUpstreamEmployee(uuid);
 
         if (findEmployee.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -106,7 +198,8 @@ public class ExternalEmployeeService {
         return makeApiCall(externalApiUrl, HttpMethod.DELETE, requestEntity, BOOLEAN_TYPE)
                 .map(response -> {
                     if (response) {
-                        log.info("Employee {} deleted successfully", employee.getName());
+                        log.debug("Employee {} deleted successfully", employee.getName());
+                        rosterCache.applyDelete(employee.getName());
                         return ResponseEntity.ok("Employee " + employee.getName() + " deleted successfully.");
                     } else {
                         log.error("Failed to delete Employee {}", employee.getName());
@@ -118,17 +211,47 @@ public class ExternalEmployeeService {
                         () -> new ExternalServiceException(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error"));
     }
 
+    /*
+     * Concurrent identical GETs share one upstream call, which is then the only one the circuit breaker and rate
+     * limiter see.
+     */
     private <T> Optional<T> makeApiCall(
             String url,
             HttpMethod method,
             HttpEntity<?> requestEntity,
-            ParameterizedTypeReference<Response<T>> responseType) {
-        try {
-            ResponseEntity<Response<T>> response = restTemplate.exchange(url, method, requestEntity, responseType);
-            return Optional.ofNullable(response.getBody()).map(Response::data);
-        } catch (HttpStatusCodeException e) {
-            throw new ExternalServiceException(e.getStatusCode(), e.getMessage());
+            ParameterizedTypeReference<Response<T>> responseType,
+            Object... uriVariables) {
+        if (HttpMethod.GET.equals(method) && requestEntity == null) {
+            return requestCoalescer.execute(
+                    method.name() + " " + url + " " + Arrays.toString(uriVariables),
+                    () -> callUpstream(url, method, null, responseType, uriVariables));
         }
+        return callUpstream(url, method, requestEntity, responseType, uriVariables);
+    }
+
+    private <T> Optional<T> callUpstream(
+            String url,
+            HttpMethod method,
+            HttpEntity<?> requestEntity,
+            ParameterizedTypeReference<Response<T>> responseType,
+            Object... uriVariables) {
+        return guarded(() -> {
+            ResponseEntity<Response<T>> response =
+                    restTemplate.exchange(url, method, requestEntity, responseType, uriVariables);
+            return Optional.ofNullable(response.getBody()).map(Response::data);
+        });
+    }
+
+    private <T> T guarded(Supplier<T> call) {
+        return circuitBreaker.call(() -> {
+            try {
+                return call.get();
+            } catch (HttpStatusCodeException e) {
+                throw new ExternalServiceException(e.getStatusCode(), e.getMessage());
+            } catch (ResourceAccessException e) {
+                throw new ExternalServiceException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+            }
+        });
     }
 
     private <T> HttpEntity<T> createRequestEntity(T body) {
@@ -0,0 +1,196 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.cache.EmployeeRoster;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.Staleness;
+import com.reliaquest.api.client.ReactiveEmployeeClient;
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.model.CreateEmployeeRequest;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link ExternalEmployeeService}, answering the same questions without blocking a thread.
+ *
+ * <p>Reads use the same {@link EmployeeRosterCache} policies, but only through its non-blocking entry points: a
+ * usable snapshot is served directly, and otherwise the roster is streamed from the upstream, passed on to the
+ * caller as it is decoded and published to the cache once complete. A stale roster is still served, and refreshed in
+ * the background through the same load, so cold and stale readers alike share a single upstream load at a time.
+ */
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEmployeeService {
+
+    private static final int TOP_EARNERS_REPORTED = 10;
+
+    private final ReactiveEmployeeClient client;
+    private final EmployeeRosterCache rosterCache;
+    private final AtomicReference<Flux<Employee>> inFlightLoad = new AtomicReference<>();
+
+    public ReactiveEmployeeService(
+            ReactiveEmployeeClient client,
+            @Value("${external.api.cache.ttl:30s}") Duration cacheTtl,
+            @Value("${external.api.cache.max-stale:5m}") Duration cacheMaxStale,
+            @Value("${external.api.cache.top-earners-tracked:10}") int topEarnersTracked) {
+        this.client = client;
+        this.rosterCache =
+                new EmployeeRosterCache(Math.max(topEarnersTracked, TOP_EARNERS_REPORTED), cacheTtl, cacheMaxStale);
+    }
+
+    /**
+     * The cached roster, for instrumentation.
+     */
+    public EmployeeRosterCache rosterCache() {
+        return rosterCache;
+    }
+
+    public Flux<Employee> fetchEmployees() {
+        return Flux.defer(() -> rosterCache
+                .tryRead(EmployeeRoster::employees, this::refreshInBackground)
+                .map(Flux::fromIterable)
+                .orElseGet(() -> loadRoster().onErrorResume(e -> lastKnown(e, EmployeeRoster::employees)
+                        .flatMapMany(Flux::fromIterable))));
+    }
+
+    public Mono<List<Employee>> searchEmployeesByName(String nameFragment) {
+        return read(roster -> roster.nameIndex().search(nameFragment));
+    }
+
+    public Mono<Employee> fetchEmployeeById(UUID id) {
+        return Mono.defer(() -> rosterCache
+                .tryRead(roster -> roster.findById(id), this::refreshInBackground)
+                .flatMap(found -> found)
+                .map(Mono::just)
+                .orElseGet(() -> {
+                    log.debug("Fetching employee by ID: {}", id);
+                    return client.fetchEmployeeById(id).onErrorResume(CircuitOpenException.class, e -> lastKnown(
+                                    e, roster -> roster.findById(id).orElse(null))
+                            .doOnNext(employee -> log.warn(
+                                    "Upstream unavailable, serving employee {} from the last known roster", id)));
+                }));
+    }
+
+    public Mono<Integer> getHighestSalary() {
+        return read(roster -> roster.salaryAggregates().highestSalary()).flatMap(Mono::justOrEmpty);
+    }
+
+    public Mono<List<String>> getTopTenHighestEarningEmployeeNames() {
+        return read(roster -> roster.salaryAggregates().topEarnerNames(TOP_EARNERS_REPORTED));
+    }
+
+    public Mono<Employee> createEmployee(CreateEmployeeRequest employeeInput) {
+        log.debug("Creating new employee: {}", employeeInput);
+        return client.createEmployee(employeeInput)
+                .switchIfEmpty(Mono.error(() ->
+                        new ExternalServiceException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to create employee")))
+                .doOnNext(employee -> {
+                    log.debug("Employee created successfully: {}", employee.getName());
+                    rosterCache.applyCreate(employee);
+                });
+    }
+
+    /**
+     * @return the deleted employee's name, or empty when no employee has that id
+     */
+    public Mono<String> deleteEmployeeById(UUID id) {
+        // Looked up upstream rather than in the cached roster, which may be stale enough to name someone else.
+        return client.fetchEmployeeById(id).flatMap(employee -> client.deleteEmployeeByName(employee.getName())
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() ->
+                        new ExternalServiceException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to delete employee.")))
+                .map(deleted -> {
+                    log.debug("Employee {} deleted successfully", employee.getName());
+                    rosterCache.applyDelete(employee.getName());
+                    return employee.getName();
+                }));
+    }
+
+    private <R> Mono<R> read(Function<EmployeeRoster, R> reader) {
+        return Mono.defer(() -> rosterCache
+                .tryRead(reader, this::refreshInBackground)
+                .map(Mono::just)
+                .orElseGet(() -> loadRoster()
+                        .then(Mono.fromCallable(() -> rosterCache
+                                .tryRead(reader, this::refreshInBackground)
+                                .orElseGet(
+                                        () -> rosterCache.readLastKnown(reader).orElseThrow())))
+                        .onErrorResume(e -> lastKnown(e, reader))));
+    }
+
+    /*
+     * The first caller starts the load; later callers replay what has been decoded so far and then follow along.
+     * The load runs to completion even if its subscribers go away, so the work is not wasted.
+     */
+    private Flux<Employee> loadRoster() {
+        while (true) {
+            Flux<Employee> existing = inFlightLoad.get();
+            if (existing != null) {
+                return existing;
+            }
+            EmployeeRosterCache.PendingLoad pending = rosterCache.prepareLoad();
+            AtomicReference<Flux<Employee>> self = new AtomicReference<>();
+            Flux<Employee> load = client.streamEmployees()
+                    .doOnNext(pending)
+                    .doOnComplete(() -> {
+                        log.info("Fetched {} employees", pending.size());
+                        pending.publish();
+                    })
+                    .doFinally(signal -> inFlightLoad.compareAndSet(self.get(), null))
+                    .cache();
+            self.set(load);
+            if (inFlightLoad.compareAndSet(null, load)) {
+                return load;
+            }
+        }
+    }
+
+    /*
+     * Joins the load in flight, if any. Failures leave the stale roster in place; the circuit breaker already warns
+     * when it opens, so the refreshes it turns away meanwhile are expected.
+     */
+    private void refreshInBackground() {
+        loadRoster().subscribe(employee -> {}, e -> {
+            if (e instanceof CircuitOpenException) {
+                log.debug("Refreshing roster snapshot failed: {}", e.getMessage());
+            } else {
+                log.warn("Refreshing roster snapshot failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /*
+     * Falls back to the last known roster when the upstream is unavailable, marking the response stale.
+     */
+    private <R> Mono<R> lastKnown(Throwable failure, Function<EmployeeRoster, R> reader) {
+        if (!ExternalServiceException.isUpstreamFailure(failure)) {
+            return Mono.error(failure);
+        }
+        Optional<Duration> age = rosterCache.lastKnownAge();
+        Optional<R> result = rosterCache.readLastKnown(reader);
+        if (age.isEmpty() || result.isEmpty()) {
+            return Mono.error(failure);
+        }
+        log.warn(
+                "Upstream unavailable ({}), serving roster snapshot {} s old",
+                failure.getMessage(),
+                age.get().toSeconds());
+        return Mono.deferContextual(context -> {
+            Staleness.record(context, age.get());
+            return Mono.just(result.get());
+        });
+    }
+}
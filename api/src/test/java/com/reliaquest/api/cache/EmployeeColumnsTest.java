@@ -0,0 +1,108 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeeColumnsTest {
+
+    @Test
+    void employee_shouldRoundTripEveryField() {
+        List<Employee> employees = List.of(
+                new Employee(UUID.randomUUID(), "Mary Jane", 120000, 34, "Engineer", "mary@company.com"),
+                new Employee(UUID.randomUUID(), "Ánxo Ñúñez 李", 90000, 51, "Engineer", "anxo@company.com"),
+                new Employee(null, null, null, null, null, null),
+                new Employee(UUID.randomUUID(), "", 0, 0, "", ""));
+        EmployeeColumns columns = new EmployeeColumns();
+        employees.forEach(columns::append);
+
+        for (int row = 0; row < employees.size(); row++) {
+            assertEquals(employees.get(row), columns.employee(row));
+        }
+    }
+
+    @Test
+    void remove_shouldKeepRemainingRowsIntactAcrossArenaCompaction() {
+        Random random = new Random(5);
+        List<Employee> roster = new ArrayList<>();
+        EmployeeColumns columns = new EmployeeColumns();
+
+        for (int i = 0; i < 2000; i++) {
+            if (random.nextInt(3) == 0 && !roster.isEmpty()) {
+                int row = random.nextInt(roster.size());
+                roster.remove(row);
+                columns.remove(row);
+            } else {
+                Employee added = new Employee(
+                        UUID.randomUUID(), "Employee " + i, i, 30, "Title " + (i % 7), "employee" + i + "@x.com");
+                roster.add(added);
+                columns.append(added);
+            }
+        }
+
+        assertEquals(roster.size(), columns.size());
+        for (int row = 0; row < roster.size(); row++) {
+            assertEquals(roster.get(row), columns.employee(row));
+            assertEquals(row, columns.rowOf(columns.sequence(row)));
+            assertEquals(row, columns.rowOfId(roster.get(row).getId()));
+        }
+    }
+
+    @Test
+    void remove_shouldMoveArenaBytesFromUsedToDead() {
+        EmployeeColumns columns = new EmployeeColumns();
+        long emptyColumnBytes = columns.columnBytes();
+        // Name, lower-cased name and email: 2 + 2 + 7 bytes each.
+        columns.append(new Employee(UUID.randomUUID(), "Jo", 1, 30, "developer", "j@x.com"));
+        columns.append(new Employee(UUID.randomUUID(), "Al", 1, 30, "developer", "a@x.com"));
+
+        columns.remove(0);
+
+        assertAll(
+                () -> assertEquals(11, columns.arenaBytesUsed()),
+                () -> assertEquals(11, columns.arenaBytesDead()),
+                () -> assertEquals(emptyColumnBytes, columns.columnBytes()));
+    }
+
+    @Test
+    void remove_duplicateIds_shouldExposeNextRowWithIdInRosterOrder() {
+        UUID id = UUID.randomUUID();
+        Employee first = new Employee(id, "First", 1, 30, "developer", "first@x.com");
+        Employee other = new Employee(UUID.randomUUID(), "Other", 2, 30, "developer", "other@x.com");
+        Employee second = new Employee(id, "Second", 3, 30, "developer", "second@x.com");
+        Employee third = new Employee(id, "Third", 4, 30, "developer", "third@x.com");
+        EmployeeColumns columns = new EmployeeColumns();
+        List.of(first, other, second, third).forEach(columns::append);
+
+        columns.remove(2);
+        int afterShadowRemoved = columns.rowOfId(id);
+        columns.remove(0);
+        Employee afterFirstRemoved = columns.employee(columns.rowOfId(id));
+        columns.remove(columns.rowOfId(id));
+
+        assertAll(
+                () -> assertEquals(0, afterShadowRemoved),
+                () -> assertEquals(third, afterFirstRemoved),
+                () -> assertEquals(-1, columns.rowOfId(id)),
+                () -> assertEquals(0, columns.rowOfId(other.getId())));
+    }
+
+    @Test
+    void lowerNameContains_shouldMatchLowercaseContains() {
+        EmployeeColumns columns = new EmployeeColumns();
+        columns.append(new Employee(UUID.randomUUID(), "Ánxo de la Cruz", 1000, 30, "developer", "e@x.com"));
+
+        for (String fragment : List.of("ánxo", "cruz", "o de", "", "xo d", "anxo", "zz")) {
+            assertEquals(
+                    "ánxo de la cruz".contains(fragment),
+                    columns.lowerNameContains(0, fragment.getBytes(StandardCharsets.UTF_8)),
+                    "fragment '" + fragment + "'");
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class EmployeeRosterCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration MAX_STALE = Duration.ofMinutes(5);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+
+    private EmployeeRosterCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EmployeeRosterCache(this::load, 10, TTL, MAX_STALE, pendingRefreshes::add, clock::get);
+    }
+
+    private List<Employee> load() {
+        int version = loads.incrementAndGet();
+        return List.of(new Employee(UUID.randomUUID(), "Version " + version, 1000, 30, "developer", "v@x.com"));
+    }
+
+    @Test
+    void get_withinTtl_shouldServeFromMemory() {
+        cache.get();
+        clock.addAndGet(TTL.toNanos() - 1);
+
+        List<Employee> result = cache.get();
+
+        assertAll(
+                () -> assertEquals(1, loads.get()),
+                () -> assertEquals("Version 1", result.get(0).getName()));
+    }
+
+    @Test
+    void get_afterTtl_shouldServeStaleAndRefreshInBackground() {
+        cache.get();
+        clock.addAndGet(TTL.toNanos());
+
+        List<Employee> stale = cache.get();
+        cache.get();
+
+        assertAll(
+                () -> assertEquals("Version 1", stale.get(0).getName()),
+                () -> assertEquals(1, pendingRefreshes.size(), "refresh should be started once"));
+
+        pendingRefreshes.remove(0).run();
+
+        assertEquals("Version 2", cache.get().get(0).getName());
+    }
+
+    @Test
+    void tryRead_withCallerRefresh_afterTtl_shouldLeaveRefreshToCaller() {
+        cache.get();
+        clock.addAndGet(TTL.toNanos());
+        AtomicInteger callerRefreshes = new AtomicInteger();
+
+        String stale = cache.tryRead(r -> r.employees().get(0).getName(), callerRefreshes::incrementAndGet)
+                .orElseThrow();
+
+        assertAll(
+                () -> assertEquals("Version 1", stale),
+                () -> assertEquals(1, callerRefreshes.get()),
+                () -> assertTrue(pendingRefreshes.isEmpty(), "the cache must not start its own refresh"),
+                () -> assertEquals(1, loads.get()));
+    }
+
+    @Test
+    void ownerLoadedCache_shouldServeWhatOwnerPublished() {
+        EmployeeRosterCache owned = new EmployeeRosterCache(10, TTL, MAX_STALE);
+        EmployeeRosterCache.PendingLoad pending = owned.prepareLoad();
+        pending.accept(employee("Loaded"));
+        pending.publish();
+
+        assertAll(
+                () -> assertEquals(
+                        List.of("Loaded"),
+                        owned.tryRead(r -> names(r.employees()), () -> {}).orElseThrow()),
+                () -> assertThrows(
+                        IllegalStateException.class, () -> new EmployeeRosterCache(10, TTL, MAX_STALE).get()));
+    }
+
+    @Test
+    void get_pastMaxStale_shouldLoadSynchronously() {
+        cache.get();
+        clock.addAndGet(TTL.plus(MAX_STALE).toNanos());
+
+        List<Employee> result = cache.get();
+
+        assertAll(
+                () -> assertEquals("Version 2", result.get(0).getName()), () -> assertTrue(pendingRefreshes.isEmpty()));
+    }
+
+    @Test
+    void update_shouldPatchCachedRosterWithoutReload() {
+        cache.get();
+        Employee created = new Employee(UUID.randomUUID(), "Created", 5000, 30, "developer", "c@x.com");
+
+        cache.applyCreate(created);
+
+        assertAll(
+                () -> assertEquals(List.of("Version 1", "Created"), names(cache.get())),
+                () -> assertEquals(
+                        5000,
+                        cache.read(r -> r.salaryAggregates().highestSalary()).orElseThrow()),
+                () -> assertEquals(1, loads.get()));
+    }
+
+    @Test
+    void writes_duringBackgroundRefresh_shouldBeReplayedOntoLoadedRoster() {
+        Employee kept = employee("Kept");
+        Employee deleted = employee("Deleted");
+        Employee created = employee("Created");
+        AtomicReference<List<Employee>> upstream = new AtomicReference<>(List.of(kept, deleted));
+        EmployeeRosterCache patched =
+                new EmployeeRosterCache(upstream::get, 10, TTL, MAX_STALE, pendingRefreshes::add, clock::get);
+        patched.get();
+        clock.addAndGet(TTL.toNanos());
+        patched.get();
+
+        // The refresh reads the upstream after the create but before the delete.
+        upstream.set(List.of(kept, deleted, created));
+        patched.applyCreate(created);
+        patched.applyDelete("deleted");
+        pendingRefreshes.remove(0).run();
+
+        assertAll(
+                () -> assertEquals(List.of("Kept", "Created"), names(patched.get())),
+                () -> assertEquals(Duration.ZERO, patched.lastKnownAge().orElseThrow()));
+    }
+
+    @Test
+    void refresh_withWritesLandingWhileLoading_shouldPublishAndAdvanceLoadedAt() throws Exception {
+        List<Employee> upstream = new CopyOnWriteArrayList<>();
+        AtomicInteger writes = new AtomicInteger();
+        int totalWrites = 200;
+        EmployeeRosterCache written = new EmployeeRosterCache(
+                () -> {
+                    // Let a few writes land while this load is in flight.
+                    int seen = writes.get();
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                    while (writes.get() < Math.min(seen + 5, totalWrites) && System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                    }
+                    return List.copyOf(upstream);
+                },
+                10,
+                TTL,
+                MAX_STALE,
+                pendingRefreshes::add,
+                clock::get);
+        written.get();
+        clock.addAndGet(TTL.toNanos());
+        written.get();
+
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < totalWrites; i++) {
+                Employee employee = employee("Employee " + i);
+                upstream.add(employee);
+                written.applyCreate(employee);
+                writes.incrementAndGet();
+                Thread.yield();
+            }
+        });
+        writer.start();
+        pendingRefreshes.remove(0).run();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertAll(
+                () -> assertTrue(writes.get() > 0),
+                () -> assertEquals(Duration.ZERO, written.lastKnownAge().orElseThrow()),
+                () -> assertEquals(names(upstream), names(written.get())));
+    }
+
+    @Test
+    void cursor_shouldHandOutChunksAndFollowWritesBetweenThem() {
+        List<Employee> upstream = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            upstream.add(employee("Employee " + i));
+        }
+        EmployeeRosterCache streamed =
+                new EmployeeRosterCache(() -> upstream, 10, TTL, MAX_STALE, Runnable::run, clock::get);
+        EmployeeRosterCache.Cursor cursor = streamed.cursor(2);
+
+        List<String> first = names(cursor.next());
+        streamed.applyDelete("employee 0");
+        streamed.applyDelete("employee 2");
+        streamed.applyCreate(employee("Employee 5"));
+        List<List<String>> rest = new ArrayList<>();
+        for (List<Employee> chunk = cursor.next(); !chunk.isEmpty(); chunk = cursor.next()) {
+            rest.add(names(chunk));
+        }
+
+        assertAll(
+                () -> assertEquals(List.of("Employee 0", "Employee 1"), first),
+                () -> assertEquals(List.of(List.of("Employee 3", "Employee 4"), List.of("Employee 5")), rest));
+    }
+
+    @Test
+    void get_loadFails_shouldPropagateAndRetryOnNextRead() {
+        AtomicInteger attempts = new AtomicInteger();
+        EmployeeRosterCache failingOnce = new EmployeeRosterCache(
+                () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new ExternalServiceException(HttpStatus.TOO_MANY_REQUESTS, "rate limited");
+                    }
+                    return load();
+                },
+                10,
+                TTL,
+                MAX_STALE,
+                Runnable::run,
+                clock::get);
+
+        ExternalServiceException ex = assertThrows(ExternalServiceException.class, failingOnce::get);
+
+        assertAll(
+                () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus()),
+                () -> assertEquals(1, failingOnce.get().size()));
+    }
+
+    @Test
+    void get_upstreamUnavailable_shouldServeLastKnownRoster() {
+        AtomicInteger attempts = new AtomicInteger();
+        EmployeeRosterCache failingAfterFirst = new EmployeeRosterCache(
+                () -> {
+                    if (attempts.incrementAndGet() > 1) {
+                        throw new ExternalServiceException(HttpStatus.SERVICE_UNAVAILABLE, "circuit open");
+                    }
+                    return load();
+                },
+                10,
+                TTL,
+                MAX_STALE,
+                Runnable::run,
+                clock::get);
+        failingAfterFirst.get();
+        clock.addAndGet(TTL.plus(MAX_STALE).toNanos());
+
+        List<Employee> result = failingAfterFirst.get();
+
+        assertAll(() -> assertEquals("Version 1", result.get(0).getName()), () -> assertEquals(2, attempts.get()));
+    }
+
+    @Test
+    void get_concurrentColdReads_shouldShareSingleLoad() throws Exception {
+        CountDownLatch loaderEntered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        EmployeeRosterCache slow = new EmployeeRosterCache(
+                () -> {
+                    loaderEntered.countDown();
+                    await(release);
+                    return load();
+                },
+                10,
+                TTL,
+                MAX_STALE,
+                Runnable::run,
+                clock::get);
+
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Employee>>> results = new ArrayList<>();
+            results.add(readers.submit(slow::get));
+            assertTrue(loaderEntered.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(readers.submit(slow::get));
+            }
+            release.countDown();
+
+            for (Future<List<Employee>> result : results) {
+                assertEquals("Version 1", result.get(5, TimeUnit.SECONDS).get(0).getName());
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID(), name, 1000, 30, "developer", "e@x.com");
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getName).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    private static final String[] FIRST = {"Mary", "Peter", "Anna", "Annabel", "Jo", "Ann-Marie", "Ánxo", "Tony"};
+    private static final String[] LAST = {"Jane", "Parker", "Stark", "Annan", "de la Cruz", "O'Neil", "Aaa"};
+
+    @Test
+    void search_shouldMatchLowercaseContainsScan() {
+        Random random = new Random(11);
+        List<Employee> roster = randomRoster(300, random);
+        NameIndex index = new NameIndex(columnsOf(roster));
+        index.rebuild();
+
+        for (String fragment : fragments()) {
+            assertEquals(scan(roster, fragment), index.search(fragment), "fragment '" + fragment + "'");
+        }
+    }
+
+    @Test
+    void addAndRemove_shouldKeepIndexConsistentWithScan() {
+        Random random = new Random(3);
+        List<Employee> roster = randomRoster(40, random);
+        EmployeeColumns columns = columnsOf(roster);
+        NameIndex index = new NameIndex(columns);
+        index.rebuild();
+
+        for (int i = 0; i < 200; i++) {
+            if (random.nextBoolean() && !roster.isEmpty()) {
+                int row = random.nextInt(roster.size());
+                roster.remove(row);
+                index.remove(row);
+                columns.remove(row);
+            } else {
+                Employee added = randomEmployee(random);
+                roster.add(added);
+                columns.append(added);
+                index.add(columns.size() - 1);
+            }
+            for (String fragment : List.of("ann", "aa", "PARK", "a", "o'n", "Mary Jane")) {
+                assertEquals(scan(roster, fragment), index.search(fragment), "step " + i + ", '" + fragment + "'");
+            }
+        }
+    }
+
+    @Test
+    void search_unknownTrigram_shouldReturnEmpty() {
+        NameIndex index = new NameIndex(columnsOf(List.of(employee("Mary Jane"))));
+        index.rebuild();
+
+        assertTrue(index.search("xyz").isEmpty());
+    }
+
+    @Test
+    void firstRowNamed_shouldMatchFirstEqualsIgnoreCaseScan() {
+        Random random = new Random(5);
+        List<Employee> roster = randomRoster(200, random);
+        roster.add(employee("Jo"));
+        roster.add(employee(null));
+        NameIndex index = new NameIndex(columnsOf(roster));
+        index.rebuild();
+
+        List<String> names = new ArrayList<>(List.of("jo", "JO", "Mary", "Mary Jan", "nobody at all", ""));
+        for (Employee employee : roster.subList(0, 20)) {
+            names.add(employee.getName());
+            names.add(employee.getName().toUpperCase());
+        }
+        for (String name : names) {
+            int expected = -1;
+            for (int row = 0; row < roster.size(); row++) {
+                if (name.equalsIgnoreCase(roster.get(row).getName())) {
+                    expected = row;
+                    break;
+                }
+            }
+            assertEquals(expected, index.firstRowNamed(name), "name '" + name + "'");
+        }
+    }
+
+    private static List<String> fragments() {
+        List<String> fragments = new ArrayList<>(List.of("", "a", "AN", "ann", "Anna", "aaa", "aaaa", "n A", "zz"));
+        for (String first : FIRST) {
+            fragments.add(first);
+            fragments.add(first.toUpperCase());
+        }
+        for (String last : LAST) {
+            fragments.add(" " + last);
+        }
+        return fragments;
+    }
+
+    private static List<Employee> scan(List<Employee> roster, String fragment) {
+        return roster.stream()
+                .filter(employee -> employee.getName().toLowerCase().contains(fragment.toLowerCase()))
+                .toList();
+    }
+
+    private static EmployeeColumns columnsOf(List<Employee> roster) {
+        EmployeeColumns columns = new EmployeeColumns();
+        roster.forEach(columns::append);
+        return columns;
+    }
+
+    private static List<Employee> randomRoster(int size, Random random) {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            roster.add(randomEmployee(random));
+        }
+        return roster;
+    }
+
+    private static Employee randomEmployee(Random random) {
+        return employee(FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)]);
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID(), name, 1000, 30, "developer", "e@x.com");
+    }
+}
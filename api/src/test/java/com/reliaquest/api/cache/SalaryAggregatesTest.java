@@ -0,0 +1,99 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class SalaryAggregatesTest {
+
+    @Test
+    void rebuild_shouldMatchStableSortOfRoster() {
+        List<Employee> roster = randomRoster(500, new Random(42));
+        SalaryAggregates aggregates = new SalaryAggregates(10, columnsOf(roster));
+
+        aggregates.rebuild();
+
+        assertAll(
+                () -> assertEquals(sortedTopNames(roster, 10), aggregates.topEarnerNames(10)),
+                () -> assertEquals(sortedTopNames(roster, 3), aggregates.topEarnerNames(3)),
+                () -> assertEquals(
+                        roster.stream().mapToInt(Employee::getSalary).max().orElseThrow(),
+                        aggregates.highestSalary().orElseThrow()));
+    }
+
+    @Test
+    void addAndRemove_shouldStayConsistentWithFullRebuild() {
+        Random random = new Random(7);
+        List<Employee> roster = randomRoster(50, random);
+        EmployeeColumns columns = columnsOf(roster);
+        SalaryAggregates aggregates = new SalaryAggregates(10, columns);
+        aggregates.rebuild();
+
+        for (int i = 0; i < 200; i++) {
+            if (random.nextBoolean() && !roster.isEmpty()) {
+                int row = random.nextInt(roster.size());
+                int sequence = columns.sequence(row);
+                roster.remove(row);
+                columns.remove(row);
+                aggregates.remove(sequence);
+            } else {
+                Employee added = employee("Added " + i, random.nextInt(20) * 1000);
+                roster.add(added);
+                columns.append(added);
+                aggregates.add(columns.size() - 1);
+            }
+            assertEquals(sortedTopNames(roster, 10), aggregates.topEarnerNames(10), "after step " + i);
+        }
+    }
+
+    @Test
+    void emptyRoster_shouldHaveNoHighestSalary() {
+        SalaryAggregates aggregates = new SalaryAggregates(10, new EmployeeColumns());
+
+        aggregates.rebuild();
+
+        assertAll(
+                () -> assertTrue(aggregates.highestSalary().isEmpty()),
+                () -> assertTrue(aggregates.topEarnerNames(10).isEmpty()));
+    }
+
+    @Test
+    void topEarnerNames_beyondCapacity_shouldBeRejected() {
+        SalaryAggregates aggregates = new SalaryAggregates(5, new EmployeeColumns());
+
+        assertThrows(IllegalArgumentException.class, () -> aggregates.topEarnerNames(6));
+    }
+
+    private static List<String> sortedTopNames(List<Employee> roster, int n) {
+        return roster.stream()
+                .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
+                .limit(n)
+                .map(Employee::getName)
+                .toList();
+    }
+
+    private static EmployeeColumns columnsOf(List<Employee> roster) {
+        EmployeeColumns columns = new EmployeeColumns();
+        roster.forEach(columns::append);
+        return columns;
+    }
+
+    private static List<Employee> randomRoster(int size, Random random) {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            // A narrow salary range forces plenty of ties.
+            roster.add(employee("Employee " + i, random.nextInt(20) * 1000));
+        }
+        return roster;
+    }
+
+    private static Employee employee(String name, int salary) {
+        return new Employee(UUID.randomUUID(), name, salary, 30, "developer", "e@x.com");
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidIndexTest {
+
+    @Test
+    void putAndRemove_shouldMatchHashMap() {
+        Random random = new Random(17);
+        UuidIndex index = new UuidIndex();
+        Map<UUID, Integer> expected = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            if (random.nextInt(3) == 0 && !ids.isEmpty()) {
+                UUID removed = ids.remove(random.nextInt(ids.size()));
+                assertTrue(index.remove(
+                        removed.getMostSignificantBits(), removed.getLeastSignificantBits(), expected.remove(removed)));
+            } else {
+                // Time-ordered ids share their high bits, which stresses the probing.
+                UUID added = new UUID(0x1EF0000000000000L | random.nextInt(64), random.nextLong());
+                ids.add(added);
+                expected.put(added, i);
+                assertTrue(index.putIfAbsent(added.getMostSignificantBits(), added.getLeastSignificantBits(), i));
+            }
+        }
+
+        for (UUID id : ids) {
+            assertEquals(expected.get(id), index.get(id.getMostSignificantBits(), id.getLeastSignificantBits()));
+        }
+        assertEquals(-1, index.get(1, 2));
+    }
+
+    @Test
+    void putIfAbsent_shouldKeepFirstSequenceAndIgnoreNilId() {
+        UuidIndex index = new UuidIndex();
+
+        boolean first = index.putIfAbsent(7, 9, 0);
+        boolean duplicate = index.putIfAbsent(7, 9, 1);
+        boolean nil = index.putIfAbsent(0, 0, 2);
+
+        assertAll(
+                () -> assertTrue(first),
+                () -> assertFalse(duplicate),
+                () -> assertFalse(nil),
+                () -> assertEquals(0, index.get(7, 9)),
+                () -> assertEquals(-1, index.get(0, 0)),
+                () -> assertFalse(index.remove(7, 9, 1)));
+    }
+}
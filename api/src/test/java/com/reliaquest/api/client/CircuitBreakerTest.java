@@ -0,0 +1,178 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.exception.RequestThrottledException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker(
+                "test", 10, 4, 0.5, OPEN_DURATION, 2, ExternalServiceException::isUpstreamFailure, clock::get);
+    }
+
+    @Test
+    void failuresBelowMinimumCalls_shouldKeepCircuitClosed() {
+        fail(3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void failureRateAtThreshold_shouldOpenAndFailFast() {
+        succeed(2);
+        fail(2);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertThrows(CircuitOpenException.class, () -> breaker.call(this::upstreamOk));
+        assertEquals(4, upstreamCalls.get(), "open circuit must not reach the upstream");
+    }
+
+    @Test
+    void clientErrors_shouldNotCountAsFailures() {
+        for (int i = 0; i < 10; i++) {
+            assertThrows(
+                    ExternalServiceException.class,
+                    () -> breaker.call(() -> {
+                        throw new ExternalServiceException(HttpStatus.NOT_FOUND, "not found");
+                    }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void halfOpen_successfulProbes_shouldClose() {
+        fail(4);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        succeed(2);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void halfOpen_failedProbe_shouldReopen() {
+        fail(4);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        fail(1);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void locallyThrottledCalls_shouldNotCountAsFailures() {
+        succeed(1);
+        throttle(9);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void halfOpen_locallyThrottledProbe_shouldLeaveProbeForNextCall() {
+        fail(4);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        throttle(2);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        succeed(2);
+
+        assertAll(
+                () -> assertEquals(CircuitBreaker.State.CLOSED, breaker.state()),
+                () -> assertEquals(0, breaker.rejectedCalls()));
+    }
+
+    @Test
+    void halfOpen_cancelledProbe_shouldNotCloseCircuit() {
+        fail(4);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        breaker.acquirePermission();
+        breaker.release();
+        breaker.acquirePermission();
+        breaker.release();
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        fail(1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void halfOpen_probeThrowingError_shouldLeaveProbeForNextCall() {
+        fail(4);
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(
+                    StackOverflowError.class,
+                    () -> breaker.call(() -> {
+                        throw new StackOverflowError();
+                    }));
+        }
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+        succeed(2);
+
+        assertAll(
+                () -> assertEquals(CircuitBreaker.State.CLOSED, breaker.state()),
+                () -> assertEquals(0, breaker.rejectedCalls()));
+    }
+
+    @Test
+    void slidingWindow_shouldForgetOldFailures() {
+        fail(3);
+        succeed(10);
+        fail(3);
+
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.call(this::upstreamOk);
+        }
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThrows(
+                    ExternalServiceException.class,
+                    () -> breaker.call(() -> {
+                        upstreamCalls.incrementAndGet();
+                        throw new ExternalServiceException(HttpStatus.TOO_MANY_REQUESTS, "rate limited");
+                    }));
+        }
+    }
+
+    private void throttle(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThrows(
+                    RequestThrottledException.class,
+                    () -> breaker.call(() -> {
+                        throw new RequestThrottledException("pacing budget exhausted");
+                    }));
+        }
+    }
+
+    private String upstreamOk() {
+        upstreamCalls.incrementAndGet();
+        return "ok";
+    }
+}
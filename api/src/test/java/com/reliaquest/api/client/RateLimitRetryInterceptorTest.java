@@ -0,0 +1,164 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.reliaquest.api.exception.ExternalServiceException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+class RateLimitRetryInterceptorTest {
+
+    private static final String URL = "http://upstream/api/v1/employee";
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+    private final Sleeper sleeper = nanos -> {
+        sleeps.add(nanos);
+        clock.addAndGet(nanos);
+    };
+
+    private AdaptiveRateLimiter rateLimiter;
+    private RetryBudget retryBudget;
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new AdaptiveRateLimiter(10, 0.1, 100, 1, 0.5, 10, Duration.ofSeconds(1), clock::get);
+        retryBudget = new RetryBudget(0.2, 10);
+        restTemplate = withInterceptor(Duration.ofSeconds(2));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    private RestTemplate withInterceptor(Duration maxRetryAfter) {
+        RestTemplate template = new RestTemplate();
+        template.getInterceptors()
+                .add(new RateLimitRetryInterceptor(
+                        rateLimiter,
+                        retryBudget,
+                        3,
+                        Duration.ofMillis(100),
+                        Duration.ofSeconds(2),
+                        maxRetryAfter,
+                        sleeper));
+        return template;
+    }
+
+    @Test
+    void tooManyRequests_shouldBackOffAndRetry() {
+        server.expect(requestTo(URL)).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+        server.expect(requestTo(URL)).andRespond(withSuccess("ok", MediaType.TEXT_PLAIN));
+
+        String body = restTemplate.getForObject(URL, String.class);
+
+        assertAll(
+                () -> assertEquals("ok", body),
+                () -> assertTrue(rateLimiter.currentRate() < 10, "429 should lower the pacing rate"));
+        server.verify();
+    }
+
+    @Test
+    void tooManyRequests_withShortRetryAfter_shouldWaitThatLong() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        server.expect(requestTo(URL))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(headers));
+        server.expect(requestTo(URL)).andRespond(withSuccess("ok", MediaType.TEXT_PLAIN));
+
+        restTemplate.getForObject(URL, String.class);
+
+        assertTrue(sleeps.contains(Duration.ofSeconds(1).toNanos()));
+        server.verify();
+    }
+
+    @Test
+    void tooManyRequests_withLongRetryAfter_shouldFailFastAndPauseLaterCalls() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "60");
+        server.expect(times(1), requestTo(URL))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(headers));
+
+        assertThrows(
+                HttpClientErrorException.TooManyRequests.class, () -> restTemplate.getForObject(URL, String.class));
+        ExternalServiceException paused =
+                assertThrows(ExternalServiceException.class, () -> restTemplate.getForObject(URL, String.class));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, paused.getStatus());
+        server.verify();
+    }
+
+    @Test
+    void serverError_onGet_shouldRetryUpToMaxAttempts() {
+        server.expect(times(3), requestTo(URL)).andRespond(withServerError());
+
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(URL, String.class));
+
+        server.verify();
+    }
+
+    @Test
+    void serverError_onPost_shouldNotRetry() {
+        server.expect(times(1), requestTo(URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withServerError());
+
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.postForObject(URL, "{}", String.class));
+
+        server.verify();
+    }
+
+    @Test
+    void exhaustedRetryBudget_shouldNotRetry() {
+        retryBudget = new RetryBudget(0, 0);
+        restTemplate = withInterceptor(Duration.ofSeconds(2));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(times(1), requestTo(URL)).andRespond(withServerError());
+
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(URL, String.class));
+
+        server.verify();
+    }
+
+    @Test
+    void emptyBucket_shouldPaceCallsAtCurrentRate() {
+        rateLimiter = new AdaptiveRateLimiter(2, 0.1, 100, 0, 0.5, 1, Duration.ofSeconds(1), clock::get);
+
+        long first = rateLimiter.reserve();
+        long second = rateLimiter.reserve();
+
+        assertAll(
+                () -> assertEquals(0, first),
+                () -> assertEquals(Duration.ofMillis(500).toNanos(), second));
+    }
+
+    @Test
+    void retryAfter_shouldParseSecondsAndHttpDates() {
+        HttpHeaders seconds = new HttpHeaders();
+        seconds.set(HttpHeaders.RETRY_AFTER, "30");
+        HttpHeaders pastDate = new HttpHeaders();
+        pastDate.set(HttpHeaders.RETRY_AFTER, "Wed, 21 Oct 2015 07:28:00 GMT");
+
+        assertAll(
+                () -> assertEquals(Duration.ofSeconds(30), RateLimitRetryInterceptor.retryAfter(seconds)),
+                () -> assertEquals(Duration.ZERO, RateLimitRetryInterceptor.retryAfter(pastDate)),
+                () -> assertNull(RateLimitRetryInterceptor.retryAfter(new HttpHeaders())));
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.exception.ExternalServiceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 16;
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch upstreamEntered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsForSameKey_shouldShareOneUpstreamCall() throws Exception {
+        List<Future<String>> results = submitWhileLeaderBlocked("GET /employee", () -> "roster");
+
+        for (Future<String> result : results) {
+            assertEquals("roster", result.get(5, TimeUnit.SECONDS));
+        }
+        assertAll(
+                () -> assertEquals(1, upstreamCalls.get()),
+                () -> assertEquals(1, coalescer.leaderCount()),
+                () -> assertEquals(CALLERS - 1, coalescer.followerCount()));
+    }
+
+    @Test
+    void failedCall_shouldPropagateToAllWaitersAndReleaseKey() throws Exception {
+        List<Future<String>> results = submitWhileLeaderBlocked("GET /employee/1", () -> {
+            throw new ExternalServiceException(HttpStatus.SERVICE_UNAVAILABLE, "down");
+        });
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ExternalServiceException.class, e.getCause());
+        }
+        assertEquals("retry", coalescer.execute("GET /employee/1", () -> "retry"));
+    }
+
+    @Test
+    void callThrowingError_shouldReleaseAllWaiters() throws Exception {
+        List<Future<String>> results = submitWhileLeaderBlocked("GET /employee/1", () -> {
+            throw new StackOverflowError();
+        });
+
+        for (Future<String> result : results) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(StackOverflowError.class, e.getCause());
+        }
+    }
+
+    @Test
+    void differentKeys_shouldNotBeCoalesced() {
+        coalescer.execute("GET /employee/1", upstreamCalls::incrementAndGet);
+        coalescer.execute("GET /employee/2", upstreamCalls::incrementAndGet);
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private List<Future<String>> submitWhileLeaderBlocked(String key, Supplier<String> response)
+            throws InterruptedException {
+        List<Future<String>> results = new ArrayList<>();
+        results.add(callers.submit(() -> coalescer.execute(key, () -> {
+            upstreamCalls.incrementAndGet();
+            upstreamEntered.countDown();
+            awaitRelease();
+            return response.get();
+        })));
+        assertTrue(upstreamEntered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(callers.submit(() -> coalescer.execute(key, () -> {
+                upstreamCalls.incrementAndGet();
+                return response.get();
+            })));
+        }
+        // Give followers time to attach before the leader finishes.
+        while (coalescer.followerCount() < CALLERS - 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return results;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class RosterJsonReaderTest {
+
+    private static final String BODY = "{\"status\":\"Successfully processed request.\",\"meta\":{\"data\":[1]},"
+            + "\"data\":[{\"id\":\"5255f1a5-f9f7-4be5-829a-134bde088d17\",\"employee_name\":\"Mary Jane\","
+            + "\"employee_salary\":234566,\"employee_age\":20,\"employee_title\":\"developer\","
+            + "\"employee_email\":\"mary@company.com\",\"extra\":{\"nested\":[1,{\"x\":2}]}},null,"
+            + "{\"id\":\"b66b2e1c-d2a0-4a7c-b6fe-bb5e8d8c5b6e\",\"employee_name\":\"Peter Parker\","
+            + "\"employee_salary\":458866,\"employee_age\":21,\"employee_title\":\"tester\","
+            + "\"employee_email\":\"peter@company.com\"}],\"message\":null}";
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void blockingParser_shouldReadEveryEmployeeInTheDataArray() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        RosterJsonReader reader = new RosterJsonReader(objectMapper, objectMapper.createParser(BODY));
+
+        assertFalse(reader.read(employees::add));
+
+        assertEquals(
+                List.of("Mary Jane", "Peter Parker"),
+                employees.stream().map(Employee::getName).toList());
+        assertEquals(458866, employees.get(1).getSalary());
+    }
+
+    @Test
+    void nonBlockingParser_shouldEmitEachEmployeeAsSoonAsItIsComplete() throws Exception {
+        JsonParser parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        ByteArrayFeeder feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        RosterJsonReader reader = new RosterJsonReader(objectMapper, parser);
+        List<Employee> employees = new ArrayList<>();
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        int firstEmployeeEnd = BODY.indexOf("},null") + 1;
+
+        for (int i = 0; i < body.length; i++) {
+            feeder.feedInput(body, i, i + 1);
+            assertTrue(reader.read(employees::add));
+            if (i + 1 == firstEmployeeEnd) {
+                assertEquals(1, employees.size(), "first employee should be emitted before the rest arrives");
+            }
+        }
+        feeder.endOfInput();
+        assertFalse(reader.read(employees::add));
+
+        assertEquals(
+                List.of("Mary Jane", "Peter Parker"),
+                employees.stream().map(Employee::getName).toList());
+    }
+
+    @Test
+    void missingDataArray_shouldFailRatherThanReadAnEmptyRoster() throws Exception {
+        for (String body : List.of("{\"status\":\"ok\"}", "{\"data\":null,\"status\":\"ok\"}")) {
+            RosterJsonReader reader = new RosterJsonReader(objectMapper, objectMapper.createParser(body));
+
+            ExternalServiceException ex = assertThrows(ExternalServiceException.class, () -> reader.read(e -> {}));
+
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ex.getStatus());
+        }
+    }
+
+    @Test
+    void emptyDataArray_shouldReadAnEmptyRoster() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        RosterJsonReader reader = new RosterJsonReader(objectMapper, objectMapper.createParser("{\"data\":[]}"));
+
+        assertFalse(reader.read(employees::add));
+
+        assertTrue(employees.isEmpty());
+    }
+}
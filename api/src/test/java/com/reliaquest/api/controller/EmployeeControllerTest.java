@@ -1,21 +1,31 @@
 package com.reliaquest.api.controller;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.reliaquest.api.cache.EmployeeRosterCache;
 import com.reliaquest.api.model.CreateEmployeeRequest;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.ExternalEmployeeService;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -27,6 +37,9 @@ class EmployeeControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private EmployeeController employeeController;
+
     @MockBean
     private ExternalEmployeeService externalEmployeeService;
 
@@ -64,15 +77,80 @@ class EmployeeControllerTest {
         verify(externalEmployeeService, times(1)).fetchEmployees();
     }
 
+    @Test
+    void getAllEmployees_withNdjsonAccept_streamsOneEmployeePerLine() throws Exception {
+        when(externalEmployeeService.employeeCursor())
+                .thenReturn(cacheOf(employees).cursor(1));
+
+        MvcResult asyncResult = mockMvc.perform(
+                        MockMvcRequestBuilders.get("/api/v1/employee").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(asyncResult))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{") && lines.get(0).contains("\"employee_name\":\"Mary Jane\""));
+        assertTrue(lines.get(1).contains("\"employee_name\":\"Peter Parker\""));
+    }
+
+    @Test
+    void streamAllEmployees_readsTheRosterWhileWriting() throws Exception {
+        List<Employee> roster = IntStream.range(0, 1000)
+                .mapToObj(i -> new Employee(UUID.randomUUID(), "Employee " + i, 1000, 30, "developer", "e@x.com"))
+                .toList();
+        EmployeeRosterCache cache = cacheOf(roster);
+        when(externalEmployeeService.employeeCursor()).thenReturn(cache.cursor(100));
+        Employee late = new Employee(UUID.randomUUID(), "Created mid-stream", 1000, 30, "developer", "l@x.com");
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        // Adds an employee once the first line has been flushed; a roster copied up front would not include it.
+        OutputStream out = new OutputStream() {
+            private boolean flushed;
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                body.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() {
+                if (!flushed) {
+                    flushed = true;
+                    assertTrue(body.size() > 0, "the first employee should have been written");
+                    cache.applyCreate(late);
+                }
+            }
+        };
+
+        Objects.requireNonNull(employeeController.streamAllEmployees().getBody())
+                .writeTo(out);
+
+        List<String> lines = body.toString(StandardCharsets.UTF_8).lines().toList();
+        assertAll(
+                () -> assertEquals(1001, lines.size()),
+                () -> assertTrue(lines.get(1000).contains("\"employee_name\":\"Created mid-stream\"")));
+    }
+
     @Test
     void searchEmployeesByName_returnsAllEmployeesMatching() throws Exception {
 
-        when(externalEmployeeService.fetchEmployees()).thenReturn(employees);
+        when(externalEmployeeService.searchEmployeesByName("Mary")).thenReturn(List.of(employees.get(0)));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/employee/search").param("name", "Mary"))
                 .andExpect(MockMvcResultMatchers.status().isOk())
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].employee_name").value("Mary Jane"));
-        verify(externalEmployeeService, times(1)).fetchEmployees();
+        verify(externalEmployeeService, times(1)).searchEmployeesByName("Mary");
     }
 
     @Test
@@ -148,6 +226,10 @@ class EmployeeControllerTest {
         verify(externalEmployeeService, times(1)).deleteEmployeeById(employeeId);
     }
 
+    private static EmployeeRosterCache cacheOf(List<Employee> roster) {
+        return new EmployeeRosterCache(roster::forEach, 10, Duration.ofMinutes(1), Duration.ofMinutes(5));
+    }
+
     private void assertEmployees(ResultActions resultActions, List<Employee> employees) throws Exception {
         for (int i = 0; i < employees.size(); i++) {
             Employee employee = employees.get(i);
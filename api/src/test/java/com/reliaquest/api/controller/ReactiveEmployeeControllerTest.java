@@ -0,0 +1,117 @@
+package com.reliaquest.api.controller;
+
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exception.CircuitOpenException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    private final Employee mary = new Employee(
+            UUID.fromString("a06ee5d-b7ba-4853-ac0c-abac53243b51"),
+            "Mary Jane",
+            234566,
+            20,
+            "developer",
+            "maryjane.reliaquest.com");
+
+    @Test
+    void getAllEmployees_streamsAllEmployees() {
+        when(employeeService.fetchEmployees()).thenReturn(Flux.just(mary));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/employee")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$[0].employee_name")
+                .isEqualTo("Mary Jane");
+    }
+
+    @Test
+    void getAllEmployees_withNdjsonAccept_streamsOneEmployeePerLine() {
+        when(employeeService.fetchEmployees()).thenReturn(Flux.just(mary, mary));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/employee")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(Employee.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void searchEmployeesByName_withNoMatches_returnsNotFound() {
+        when(employeeService.searchEmployeesByName("Bob")).thenReturn(Mono.just(List.of()));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/employee/search?name=Bob")
+                .exchange()
+                .expectStatus()
+                .isNotFound();
+    }
+
+    @Test
+    void getEmployeeById_withInvalidId_returnsBadRequest() {
+        webTestClient
+                .get()
+                .uri("/api/v1/employee/not-a-uuid")
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+    }
+
+    @Test
+    void getHighestSalary_whenUpstreamUnavailable_returnsServiceUnavailable() {
+        when(employeeService.getHighestSalary()).thenReturn(Mono.error(new CircuitOpenException("open")));
+
+        webTestClient
+                .get()
+                .uri("/api/v1/employee/highest-salary")
+                .exchange()
+                .expectStatus()
+                .isEqualTo(503);
+    }
+
+    @Test
+    void deleteEmployeeById_deletesTheEmployee() {
+        when(employeeService.deleteEmployeeById(mary.getId())).thenReturn(Mono.just("Mary Jane"));
+
+        webTestClient
+                .delete()
+                .uri("/api/v1/employee/{id}", mary.getId())
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(String.class)
+                .isEqualTo("Employee Mary Jane deleted successfully.");
+    }
+}
@@ -5,20 +5,29 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.exception.ExternalServiceException;
 import com.reliaquest.api.model.*;
-import java.util.ArrayList;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,9 +40,10 @@ class ExternalEmployeeServiceTest {
     @Value("${external.api.url}")
     private String apiUrl;
 
-    @InjectMocks
     private ExternalEmployeeService externalEmployeeService;
 
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
     private List<Employee> employees;
 
     @BeforeEach
@@ -53,17 +63,34 @@ class ExternalEmployeeServiceTest {
                         20,
                         "developer",
                         "peterparker.reliaquest.com"));
-        externalEmployeeService = new ExternalEmployeeService(apiUrl, restTemplate);
+        externalEmployeeService = service(Duration.ofSeconds(30), Duration.ofMinutes(5));
     }
 
-    private ResponseEntity<Response<List<Employee>>> mockEmployeeListResponse(List<Employee> employees) {
-        Response<List<Employee>> mockResponse = new Response<>(employees, Response.Status.HANDLED, "Success");
-        return new ResponseEntity<>(mockResponse, HttpStatus.OK);
+    private ExternalEmployeeService service(Duration cacheTtl, Duration cacheMaxStale) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(
+                "employee-upstream",
+                20,
+                10,
+                0.5,
+                Duration.ofSeconds(30),
+                2,
+                ExternalServiceException::isUpstreamFailure);
+        return new ExternalEmployeeService(
+                apiUrl, restTemplate, objectMapper, circuitBreaker, cacheTtl, cacheMaxStale, 10);
     }
 
-    private ResponseEntity<Response<List<Employee>>> mockEmptyEmployeeListResponse() {
-        Response<List<Employee>> mockResponse = new Response<>(new ArrayList<>(), Response.Status.HANDLED, "Success");
-        return new ResponseEntity<>(mockResponse, HttpStatus.OK);
+    private void stubRoster(List<Employee> roster) {
+        when(restTemplate.execute(
+                        eq(URI.create(apiUrl)),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        ArgumentMatchers.<ResponseExtractor<Integer>>any()))
+                .thenAnswer(invocation -> {
+                    ResponseExtractor<?> extractor = invocation.getArgument(3);
+                    byte[] body =
+                            objectMapper.writeValueAsBytes(new Response<>(roster, Response.Status.HANDLED, "Success"));
+                    return extractor.extractData(new MockClientHttpResponse(body, HttpStatus.OK));
+                });
     }
 
     private ResponseEntity<Response<Employee>> mockEmployeeResponse(Employee employee) {
@@ -83,8 +110,7 @@ class ExternalEmployeeServiceTest {
 
     @Test
     void fetchEmployees_ShouldReturnEmployeeList() {
-        when(restTemplate.exchange(eq(apiUrl), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_LIST_TYPE)))
-                .thenReturn(mockEmployeeListResponse(employees));
+        stubRoster(employees);
 
         List<Employee> result = externalEmployeeService.fetchEmployees();
 
@@ -94,10 +120,54 @@ class ExternalEmployeeServiceTest {
                 () -> assertEquals("Peter Parker", result.get(1).getName()));
     }
 
+    @Test
+    void fetchEmployees_repeatedReads_ShouldCallUpstreamOnce() {
+        stubRoster(employees);
+
+        externalEmployeeService.fetchEmployees();
+        externalEmployeeService.fetchEmployees();
+
+        verify(restTemplate, times(1))
+                .execute(
+                        eq(URI.create(apiUrl)),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        ArgumentMatchers.<ResponseExtractor<Integer>>any());
+    }
+
+    @Test
+    void createEmployee_ShouldPatchCachedRosterAndAggregates() {
+        Employee created = new Employee(UUID.randomUUID(), "Tony Stark", 999999, 40, "ceo", "tonystark.reliaquest.com");
+        stubRoster(employees);
+        when(restTemplate.exchange(eq(apiUrl), eq(HttpMethod.POST), any(HttpEntity.class), eq(EMPLOYEE_TYPE)))
+                .thenReturn(mockEmployeeResponse(created));
+
+        externalEmployeeService.fetchEmployees();
+        externalEmployeeService.createEmployee(new CreateEmployeeRequest("Tony Stark", 999999, 40, "ceo"));
+
+        assertAll(
+                () -> assertEquals(3, externalEmployeeService.fetchEmployees().size()),
+                () -> assertEquals(
+                        999999, externalEmployeeService.getHighestSalary().getBody()),
+                () -> assertEquals(
+                        "Tony Stark",
+                        Objects.requireNonNull(externalEmployeeService
+                                        .getTopTenHighestEarningEmployeeNames()
+                                        .getBody())
+                                .get(0)));
+        verify(restTemplate, times(1))
+                .execute(
+                        eq(URI.create(apiUrl)),
+                        eq(HttpMethod.GET),
+                        any(RequestCallback.class),
+                        ArgumentMatchers.<ResponseExtractor<Integer>>any());
+    }
+
     @Test
     void fetchEmployeeById_ShouldReturnEmployee() {
         String id = UUID.randomUUID().toString();
-        when(restTemplate.exchange(eq(apiUrl + "/" + id), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE)))
+        when(restTemplate.exchange(
+                        eq(apiUrl + "/{id}"), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE), eq(UUID.fromString(id))))
                 .thenReturn(mockEmployeeResponse(employees.get(0)));
 
         Employee result = externalEmployeeService.fetchEmployeeById(id).orElse(null);
@@ -109,10 +179,55 @@ class ExternalEmployeeServiceTest {
         });
     }
 
+    @Test
+    void fetchEmployeeById_cachedRoster_ShouldNotCallUpstream() {
+        String id = employees.get(1).getId().toString();
+        stubRoster(employees);
+        externalEmployeeService.fetchEmployees();
+
+        Employee result = externalEmployeeService.fetchEmployeeById(id).orElse(null);
+
+        assertAll(() -> assertEquals(employees.get(1), result), () -> verify(restTemplate, never())
+                .exchange(
+                        eq(apiUrl + "/{id}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        eq(EMPLOYEE_TYPE),
+                        eq(UUID.fromString(id))));
+    }
+
+    @Test
+    void fetchEmployeeById_upstreamUnavailable_ShouldServeLastKnownRoster() {
+        // A roster that expires at once is never used for regular reads, only as the last known fallback.
+        externalEmployeeService = service(Duration.ZERO, Duration.ZERO);
+        String id = employees.get(0).getId().toString();
+        stubRoster(employees);
+        when(restTemplate.exchange(
+                        eq(apiUrl + "/{id}"), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE), eq(UUID.fromString(id))))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "", null, null, null));
+        externalEmployeeService.fetchEmployees();
+
+        // With the default window, one success and nine failures open the circuit.
+        for (int i = 0; i < 9; i++) {
+            assertThrows(ExternalServiceException.class, () -> externalEmployeeService.fetchEmployeeById(id));
+        }
+        Employee result = externalEmployeeService.fetchEmployeeById(id).orElse(null);
+
+        assertAll(() -> assertNotNull(result), () -> assertEquals("Mary Jane", result.getName()), () -> verify(
+                        restTemplate, times(9))
+                .exchange(
+                        eq(apiUrl + "/{id}"),
+                        eq(HttpMethod.GET),
+                        isNull(),
+                        eq(EMPLOYEE_TYPE),
+                        eq(UUID.fromString(id))));
+    }
+
     @Test
     void fetchEmployeeById_employeeNotFound_ShouldReturnNull() {
         String id = UUID.randomUUID().toString();
-        when(restTemplate.exchange(eq(apiUrl + "/" + id), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE)))
+        when(restTemplate.exchange(
+                        eq(apiUrl + "/{id}"), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE), eq(UUID.fromString(id))))
                 .thenReturn(mockEmptyEmployeeResponse());
 
         Employee result = externalEmployeeService.fetchEmployeeById(id).orElse(null);
@@ -122,8 +237,7 @@ class ExternalEmployeeServiceTest {
 
     @Test
     void getHighestSalary_ShouldReturnHighestSalary() {
-        when(restTemplate.exchange(eq(apiUrl), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_LIST_TYPE)))
-                .thenReturn(mockEmployeeListResponse(employees));
+        stubRoster(employees);
 
         ResponseEntity<Integer> result = externalEmployeeService.getHighestSalary();
         assertEquals(458866, result.getBody());
@@ -131,8 +245,7 @@ class ExternalEmployeeServiceTest {
 
     @Test
     void getTopTenHighestEarningEmployeeNames_ShouldReturnTop10Names() {
-        when(restTemplate.exchange(eq(apiUrl), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_LIST_TYPE)))
-                .thenReturn(mockEmployeeListResponse(employees));
+        stubRoster(employees);
 
         ResponseEntity<List<String>> result = externalEmployeeService.getTopTenHighestEarningEmployeeNames();
 
@@ -146,8 +259,7 @@ class ExternalEmployeeServiceTest {
 
     @Test
     void getTopTenHighestEarningEmployeeNames_returnsEmptyList_ShouldReturnNotFoundStatus() {
-        when(restTemplate.exchange(eq(apiUrl), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_LIST_TYPE)))
-                .thenReturn(mockEmptyEmployeeListResponse());
+        stubRoster(List.of());
 
         ResponseEntity<List<String>> result = externalEmployeeService.getTopTenHighestEarningEmployeeNames();
 
@@ -169,7 +281,8 @@ class ExternalEmployeeServiceTest {
     void deleteEmployeeById_shouldReturnSuccessMessage() {
         String id = UUID.fromString("a06ee5d-b7ba-4853-ac0c-abac53243b51").toString();
 
-        when(restTemplate.exchange(eq(apiUrl + "/" + id), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE)))
+        when(restTemplate.exchange(
+                        eq(apiUrl + "/{id}"), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE), eq(UUID.fromString(id))))
                 .thenReturn(mockEmployeeResponse(employees.get(0)));
 
         when(restTemplate.exchange(eq(apiUrl), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(BOOLEAN_TYPE)))
@@ -183,10 +296,26 @@ class ExternalEmployeeServiceTest {
     void deleteEmployeeById_employeeNotPresent_shouldReturnNotFoundStatus() {
         String id = UUID.fromString("a06ee5d-b7ba-4853-ac0c-abac53243b51").toString();
 
-        when(restTemplate.exchange(eq(apiUrl + "/" + id), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE)))
+        when(restTemplate.exchange(
+                        eq(apiUrl + "/{id}"), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE), eq(UUID.fromString(id))))
                 .thenReturn(mockEmptyEmployeeResponse());
 
         ResponseEntity<String> result = externalEmployeeService.deleteEmployeeById(id);
         assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode());
     }
+
+    @Test
+    void deleteEmployeeById_deletedUpstreamButStillCached_shouldNotDeleteBySameName() {
+        String id = employees.get(0).getId().toString();
+        stubRoster(employees);
+        externalEmployeeService.fetchEmployees();
+        when(restTemplate.exchange(
+                        eq(apiUrl + "/{id}"), eq(HttpMethod.GET), isNull(), eq(EMPLOYEE_TYPE), eq(UUID.fromString(id))))
+                .thenReturn(mockEmptyEmployeeResponse());
+
+        ResponseEntity<String> result = externalEmployeeService.deleteEmployeeById(id);
+
+        assertAll(() -> assertEquals(HttpStatus.NOT_FOUND, result.getStatusCode()), () -> verify(restTemplate, never())
+                .exchange(eq(apiUrl), eq(HttpMethod.DELETE), any(HttpEntity.class), eq(BOOLEAN_TYPE)));
+    }
 }
@@ -0,0 +1,62 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.ReactiveEmployeeClient;
+import com.reliaquest.api.model.Employee;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEmployeeServiceTest {
+
+    private final Employee mary =
+            new Employee(UUID.randomUUID(), "Mary Jane", 234566, 20, "developer", "maryjane.reliaquest.com");
+    private final Employee peter =
+            new Employee(UUID.randomUUID(), "Peter Parker", 458866, 20, "developer", "peterparker.reliaquest.com");
+
+    @Mock
+    private ReactiveEmployeeClient client;
+
+    @Test
+    void staleAndExpiredReads_shouldShareOneNonBlockingLoad() throws Exception {
+        // A zero TTL makes every read stale at once; past the max-stale window the next read has to wait for a load.
+        Duration maxStale = Duration.ofMillis(500);
+        ReactiveEmployeeService service = new ReactiveEmployeeService(client, Duration.ZERO, maxStale, 10);
+        Sinks.Many<Employee> refresh = Sinks.many().replay().all();
+        AtomicReference<Thread> refreshSubscriber = new AtomicReference<>();
+        when(client.streamEmployees())
+                .thenReturn(Flux.just(mary))
+                .thenReturn(refresh.asFlux().doOnSubscribe(s -> refreshSubscriber.set(Thread.currentThread())));
+
+        List<Employee> cold = service.fetchEmployees().collectList().block();
+        List<Employee> stale = service.fetchEmployees().collectList().block();
+        Integer staleSalary = service.getHighestSalary().block();
+        Thread.sleep(maxStale.toMillis() + 100);
+        CompletableFuture<List<Employee>> expired =
+                service.fetchEmployees().collectList().toFuture();
+
+        refresh.tryEmitNext(peter);
+        refresh.tryEmitComplete();
+
+        assertAll(
+                () -> assertEquals(List.of(mary), cold),
+                () -> assertEquals(List.of(mary), stale),
+                () -> assertEquals(mary.getSalary(), staleSalary),
+                () -> assertEquals(List.of(peter), expired.get(5, TimeUnit.SECONDS)),
+                () -> verify(client, times(2)).streamEmployees(),
+                () -> assertSame(
+                        Thread.currentThread(), refreshSubscriber.get(), "no thread may block on the refresh"));
+    }
+}
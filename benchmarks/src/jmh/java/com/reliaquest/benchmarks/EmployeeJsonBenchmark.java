@@ -0,0 +1,73 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.RosterJsonReader;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Both ends of the roster's JSON, with its {@code employee_} prefixed names: the server writing
+ * {@link MockEmployee}s, and the API reading {@link Employee}s either through data binding or the streaming
+ * {@link RosterJsonReader} it actually uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EmployeeJsonBenchmark {
+
+    private static final TypeReference<com.reliaquest.api.model.Response<List<Employee>>> ROSTER_TYPE =
+            new TypeReference<>() {};
+
+    @Param({"100", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    private ObjectMapper objectMapper;
+    private Response<List<MockEmployee>> roster;
+    private byte[] rosterJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        roster = Response.handledWith(Rosters.mockEmployees(rosterSize));
+        rosterJson = objectMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public byte[] writeMockRoster() throws IOException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public List<Employee> bindRoster() throws IOException {
+        return objectMapper.readValue(rosterJson, ROSTER_TYPE).data();
+    }
+
+    @Benchmark
+    public void streamRoster(Blackhole blackhole) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(rosterJson)) {
+            new RosterJsonReader(objectMapper, parser).read(blackhole::consume);
+        }
+    }
+}
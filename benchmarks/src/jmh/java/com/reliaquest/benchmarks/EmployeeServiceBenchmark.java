@@ -0,0 +1,100 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.CircuitBreaker;
+import com.reliaquest.api.exception.ExternalServiceException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.Response;
+import com.reliaquest.api.service.ExternalEmployeeService;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * The API's read paths once the roster is cached: highest salary, top ten earners and name search. The upstream is a
+ * {@link RestTemplate} answering from memory, so the one roster load in the setup goes through the real decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    /** Matches about one employee in sixteen, by first name. */
+    @Param({"lena"})
+    String nameFragment;
+
+    private ExternalEmployeeService service;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        byte[] body = objectMapper.writeValueAsBytes(
+                new Response<>(Rosters.employees(rosterSize), Response.Status.HANDLED, null));
+        RestTemplate restTemplate = new RestTemplate((uri, method) -> {
+            MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+            MockClientHttpResponse response = new MockClientHttpResponse(body, HttpStatus.OK);
+            response.getHeaders().set(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+            request.setResponse(response);
+            return request;
+        });
+        service = new ExternalEmployeeService(
+                "http://upstream/api/v1/employee",
+                restTemplate,
+                objectMapper,
+                new CircuitBreaker(
+                        "employee-upstream",
+                        20,
+                        10,
+                        0.5,
+                        Duration.ofSeconds(30),
+                        2,
+                        ExternalServiceException::isUpstreamFailure),
+                Duration.ofDays(1),
+                Duration.ofDays(1),
+                10);
+        if (service.fetchEmployees().size() != rosterSize) {
+            throw new IllegalStateException("Roster did not load");
+        }
+    }
+
+    @Benchmark
+    public Optional<Integer> highestSalary() {
+        return Optional.ofNullable(service.getHighestSalary().getBody());
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningNames() {
+        return service.getTopTenHighestEarningEmployeeNames().getBody();
+    }
+
+    @Benchmark
+    public List<Employee> searchByName() {
+        return service.searchEmployeesByName(nameFragment);
+    }
+}
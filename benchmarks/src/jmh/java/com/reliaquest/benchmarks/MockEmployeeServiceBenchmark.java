@@ -0,0 +1,70 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.InMemoryEmployeeStore;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The mock server's lookups and deletes against an in-memory store. Every delete puts the employee back, so the store
+ * keeps its size across iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    int rosterSize;
+
+    private EmployeeStore store;
+    private MockEmployeeService service;
+    private MockEmployee[] employees;
+
+    @Setup
+    public void setUp() {
+        List<MockEmployee> roster = Rosters.mockEmployees(rosterSize);
+        employees = roster.toArray(MockEmployee[]::new);
+        store = new InMemoryEmployeeStore(roster);
+        service = new MockEmployeeService(new Faker(), store);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return service.findById(randomEmployee().getId());
+    }
+
+    @Benchmark
+    public boolean deleteAndRestore() {
+        MockEmployee employee = randomEmployee();
+        DeleteMockEmployeeInput input = new DeleteMockEmployeeInput();
+        input.setName(employee.getName());
+        boolean deleted = service.delete(input);
+        store.add(employee);
+        return deleted;
+    }
+
+    private MockEmployee randomEmployee() {
+        return employees[ThreadLocalRandom.current().nextInt(employees.length)];
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.web.BurstBackoff;
+import com.reliaquest.server.web.RateLimitAlgorithm;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import com.reliaquest.server.web.SlidingWindow;
+import com.reliaquest.server.web.TokenBucket;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * {@link RateLimitInterceptor#preHandle} from four threads at once. Each algorithm runs at its largest limit over a
+ * short window, so a busy client is admitted and rejected in turn, as under real overload. With one client all threads
+ * contend on the same state; with many they mostly do not, but look clients up in a larger map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class RateLimitInterceptorBenchmark {
+
+    private static final String CLIENT_HEADER = "X-Client-Id";
+
+    @Param({"burst-backoff", "token-bucket", "sliding-window"})
+    String algorithm;
+
+    @Param({"1", "1000"})
+    int clients;
+
+    private RateLimitInterceptor interceptor;
+    private MockHttpServletRequest[] requests;
+
+    @Setup
+    public void setUp() {
+        RateLimitAlgorithm rateLimitAlgorithm =
+                switch (algorithm) {
+                    case "burst-backoff" -> new BurstBackoff(BurstBackoff.MAX_LIMIT, Duration.ofMillis(1));
+                    case "token-bucket" -> new TokenBucket(1_000_000_000, Duration.ofSeconds(1));
+                    case "sliding-window" -> new SlidingWindow(SlidingWindow.MAX_LIMIT, Duration.ofMillis(1));
+                    default -> throw new IllegalArgumentException(algorithm);
+                };
+        interceptor = new RateLimitInterceptor(rateLimitAlgorithm, CLIENT_HEADER, 10_000);
+        requests = new MockHttpServletRequest[clients];
+        for (int i = 0; i < clients; i++) {
+            requests[i] = new MockHttpServletRequest("GET", "/api/v1/employee");
+            requests[i].addHeader(CLIENT_HEADER, "client-" + i);
+        }
+    }
+
+    @Benchmark
+    public boolean preHandle() {
+        MockHttpServletRequest request = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+        return interceptor.preHandle(request, new MockHttpServletResponse(), null);
+    }
+}
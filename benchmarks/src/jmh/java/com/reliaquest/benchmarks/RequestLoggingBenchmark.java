@@ -0,0 +1,125 @@
+package com.reliaquest.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.observability.RequestSummaryFilter;
+import jakarta.servlet.FilterChain;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * What logging costs a request thread, sampled per call from four threads writing to one file through Boot's console
+ * pattern. {@code per-request} is an INFO line per request, as the controllers used to write; {@code sampled} is
+ * their DEBUG line, now disabled, plus the {@link RequestSummaryFilter} at its default 1% sample. Logging this fast
+ * keeps the async queue full, so the async rows show events being dropped rather than the sink holding callers up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class RequestLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%t] %-40.40logger{39} : %m%n";
+    private static final FilterChain HANDLER = (request, response) -> {};
+
+    @Param({"sync", "async"})
+    String appender;
+
+    @Param({"per-request", "sampled"})
+    String lines;
+
+    private Path logFile;
+    private org.slf4j.Logger controllerLog;
+    private RequestSummaryFilter summaryFilter;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("request-logging", ".log");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(encoder);
+        file.start();
+
+        Appender<ILoggingEvent> root = file;
+        if (appender.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.addAppender(file);
+            async.start();
+            root = async;
+        }
+        Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(Level.INFO);
+        rootLogger.addAppender(root);
+
+        controllerLog = LoggerFactory.getLogger(EmployeeController.class);
+        summaryFilter = new RequestSummaryFilter(0.01, Duration.ofSeconds(1));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void handleRequest(Request request) throws Exception {
+        if (lines.equals("per-request")) {
+            controllerLog.info("Handling GET request for employee ID: {}", request.id);
+        } else {
+            controllerLog.debug("Handling GET request for employee ID: {}", request.id);
+            summaryFilter.doFilter(request.servletRequest, request.servletResponse, HANDLER);
+        }
+    }
+
+    /**
+     * One per thread, since the filter marks the request it is handling. Reused, so the mocks are not what is measured.
+     */
+    @State(Scope.Thread)
+    public static class Request {
+
+        final String id = UUID.randomUUID().toString();
+        final MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/v1/employee/" + id);
+        final MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+    }
+}
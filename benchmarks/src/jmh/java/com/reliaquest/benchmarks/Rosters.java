@@ -0,0 +1,68 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic rosters for the benchmarks. Faker is far too slow to build a million employees per trial, so names are put
+ * together from syllables instead: the first name from a short list, the surname from the employee's index, so
+ * names rarely repeat. The same size always gives the same roster.
+ */
+final class Rosters {
+
+    static final String[] FIRST_NAMES = {
+        "Ava", "Ben", "Cleo", "Dara", "Eli", "Fay", "Gus", "Hana", "Ivan", "June", "Kai", "Lena", "Milo", "Nia", "Omar",
+        "Pia"
+    };
+    private static final String[] SYLLABLES = {
+        "ba", "ko", "ri", "len", "mo", "sa", "tu", "vel", "dan", "ne", "pol", "ra", "shi", "ta", "wen", "zo"
+    };
+    private static final String[] TITLES = {
+        "Engineer", "Designer", "Analyst", "Manager", "Consultant", "Architect", "Technician", "Director"
+    };
+
+    private Rosters() {}
+
+    static List<MockEmployee> mockEmployees(int size) {
+        Random random = new Random(size);
+        List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = name(i);
+            employees.add(new MockEmployee(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    name,
+                    30_000 + random.nextInt(470_000),
+                    16 + random.nextInt(60),
+                    TITLES[random.nextInt(TITLES.length)],
+                    name.replace(' ', '.').toLowerCase() + "@company.com"));
+        }
+        return employees;
+    }
+
+    static List<Employee> employees(int size) {
+        return mockEmployees(size).stream()
+                .map(mock -> new Employee(
+                        mock.getId(),
+                        mock.getName(),
+                        mock.getSalary(),
+                        mock.getAge(),
+                        mock.getTitle(),
+                        mock.getEmail()))
+                .toList();
+    }
+
+    static String name(int index) {
+        StringBuilder surname = new StringBuilder();
+        int rest = index / FIRST_NAMES.length;
+        do {
+            surname.append(SYLLABLES[rest % SYLLABLES.length]);
+            rest /= SYLLABLES.length;
+        } while (rest > 0);
+        surname.setCharAt(0, Character.toUpperCase(surname.charAt(0)));
+        return FIRST_NAMES[index % FIRST_NAMES.length] + " " + surname;
+    }
+}
@@ -0,0 +1,322 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots the server and the api, pointed at each other, and drives the api with an open-model workload: requests are
+ * started at a fixed rate whether or not earlier ones have completed, the way independent users arrive, and each
+ * latency is measured from when its request was due rather than from when it was sent.
+ *
+ * <p>Besides throughput, latency percentiles, error and 429 rates per operation, it reports upstream amplification:
+ * how many requests reached the server per request to the api, counted from the server's access log. Both
+ * applications also write the spans they sample to the work directory, from which the slowest traced requests of the
+ * recorded period are printed with their critical path. Everything runs on this machine; nothing is fetched from
+ * anywhere.
+ */
+public final class LoadTest {
+
+    private static final String API_PATH = "/api/v1/employee";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final Operation[] weightedOperations;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final Semaphore inFlight;
+    private final List<String> rosterIds = new ArrayList<>();
+    private final List<String> rosterNames = new ArrayList<>();
+    private volatile boolean recording;
+    private long recordingFromMicros;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        this.random = new Random(options.seed());
+        this.inFlight = new Semaphore(options.maxInFlight());
+        List<Operation> weighted = new ArrayList<>();
+        options.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+            stats.put(operation, new OperationStats());
+        });
+        this.weightedOperations = weighted.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Files.createDirectories(options.workDirectory());
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        Path accessLog = options.workDirectory().resolve("server-access.log");
+        Files.deleteIfExists(accessLog);
+        List<String> serverArgs = new ArrayList<>(options.serverArgs());
+        serverArgs.addAll(List.of(
+                "--server.tomcat.accesslog.enabled=true",
+                "--server.tomcat.accesslog.directory=" + options.workDirectory().toAbsolutePath(),
+                "--server.tomcat.accesslog.prefix=server-access",
+                "--server.tomcat.accesslog.suffix=.log",
+                "--server.tomcat.accesslog.rotate=false",
+                "--server.tomcat.accesslog.buffered=false",
+                "--server.tomcat.accesslog.pattern=%s %U",
+                "--mock.store.type=memory"));
+        List<Path> spanFiles = List.of(spanFile("api"), spanFile("server"));
+        for (Path spanFile : spanFiles) {
+            Files.deleteIfExists(spanFile);
+        }
+        if (options.slowestTraces() > 0) {
+            serverArgs.add("--mock.tracing.file=" + spanFile("server"));
+        }
+
+        System.out.printf("Starting server and api, logs in %s%n", options.workDirectory());
+        try (ManagedApplication server = ManagedApplication.start(
+                        "server", options.serverJar(), options.jvmArgs(), serverArgs, options.workDirectory());
+                ManagedApplication api = startApi(server)) {
+            server.awaitReady(client, "/admin/faults", STARTUP_TIMEOUT);
+            api.awaitReady(client, "/actuator/health", STARTUP_TIMEOUT);
+            loadRoster(api);
+
+            System.out.printf(
+                    "Driving %.0f requests/s on %s threads: %s of warm-up, then %s recorded%n",
+                    options.rps(), threads(), options.warmup(), options.duration());
+            long started = System.nanoTime();
+            long measuredFrom = started + options.warmup().toNanos();
+            long until = measuredFrom + options.duration().toNanos();
+            long[] upstreamAtStart = null;
+            long interval = (long) (1e9 / options.rps());
+            for (long due = started; due < until; due += interval) {
+                if (!recording && due >= measuredFrom) {
+                    upstreamAtStart = countUpstream(accessLog);
+                    recordingFromMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+                    recording = true;
+                }
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                send(api, weightedOperations[random.nextInt(weightedOperations.length)], due);
+            }
+            inFlight.acquire(options.maxInFlight());
+            long[] upstreamAtEnd = countUpstream(accessLog);
+            report(upstreamAtEnd[0] - upstreamAtStart[0], upstreamAtEnd[1] - upstreamAtStart[1]);
+        }
+        // Only now, since the applications write out their last spans as they shut down.
+        if (options.slowestTraces() > 0) {
+            TraceReport.read(objectMapper, spanFiles).printSlowest(options.slowestTraces(), recordingFromMicros);
+        }
+    }
+
+    private ManagedApplication startApi(ManagedApplication server) throws IOException {
+        List<String> apiArgs = new ArrayList<>(List.of(
+                "--external.api.url=http://localhost:" + server.port() + API_PATH,
+                "--spring.threads.virtual.enabled=" + options.virtualThreads()));
+        if (options.slowestTraces() > 0) {
+            apiArgs.add("--api.tracing.file=" + spanFile("api"));
+        }
+        apiArgs.addAll(options.apiArgs());
+        return ManagedApplication.start("api", options.apiJar(), options.jvmArgs(), apiArgs, options.workDirectory());
+    }
+
+    private Path spanFile(String application) {
+        return options.workDirectory().resolve(application + "-spans.jsonl").toAbsolutePath();
+    }
+
+    /*
+     * The ids and names the workload reads and searches for. Retried, since the server may throttle the first load.
+     */
+    private void loadRoster(ManagedApplication api) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(api.uri(API_PATH)).build();
+        for (int attempt = 0; attempt < 30; attempt++) {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                for (JsonNode employee : objectMapper.readTree(response.body())) {
+                    rosterIds.add(employee.path("id").asText());
+                    rosterNames.add(employee.path("employee_name").asText());
+                }
+                if (!rosterIds.isEmpty()) {
+                    System.out.printf("Roster has %d employees%n", rosterIds.size());
+                    return;
+                }
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("Could not load the roster through the api");
+    }
+
+    private void send(ManagedApplication api, Operation operation, long due) {
+        boolean recorded = recording;
+        OperationStats operationStats = stats.get(operation);
+        if (!inFlight.tryAcquire()) {
+            if (recorded) {
+                operationStats.recordDropped();
+            }
+            return;
+        }
+        client.sendAsync(request(api, operation), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    long latency = System.nanoTime() - due;
+                    inFlight.release();
+                    if (response != null && operation == Operation.CREATE && response.statusCode() == 200) {
+                        rememberCreated(response.body());
+                    }
+                    if (recorded) {
+                        operationStats.record(latency, response == null ? 0 : response.statusCode());
+                    }
+                });
+    }
+
+    private HttpRequest request(ManagedApplication api, Operation operation) {
+        HttpRequest.Builder builder =
+                switch (operation) {
+                    case LIST -> HttpRequest.newBuilder(api.uri(API_PATH));
+                    case SEARCH -> HttpRequest.newBuilder(api.uri(
+                            API_PATH + "/search?name=" + URLEncoder.encode(nameFragment(), StandardCharsets.UTF_8)));
+                    case BY_ID -> HttpRequest.newBuilder(api.uri(API_PATH + "/" + randomRosterId()));
+                    case HIGHEST_SALARY -> HttpRequest.newBuilder(api.uri(API_PATH + "/highest-salary"));
+                    case TOP_TEN -> HttpRequest.newBuilder(api.uri(API_PATH + "/top-ten-highest-earning-employees"));
+                    case CREATE -> HttpRequest.newBuilder(api.uri(API_PATH))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(createBody()));
+                    case DELETE -> {
+                        // Deletes what the run created when it can, so the roster being read does not drain away.
+                        String id = createdIds.poll();
+                        yield HttpRequest.newBuilder(api.uri(API_PATH + "/" + (id != null ? id : randomRosterId())))
+                                .DELETE();
+                    }
+                };
+        return builder.timeout(options.requestTimeout()).build();
+    }
+
+    private String nameFragment() {
+        String name = rosterNames.get(random.nextInt(rosterNames.size()));
+        int length = Math.min(3, name.length());
+        int start = random.nextInt(name.length() - length + 1);
+        return name.substring(start, start + length).toLowerCase();
+    }
+
+    private String randomRosterId() {
+        return rosterIds.get(random.nextInt(rosterIds.size()));
+    }
+
+    private String createBody() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "Load Tester " + random.nextInt(1_000_000));
+        body.put("salary", 30_000 + random.nextInt(200_000));
+        body.put("age", 18 + random.nextInt(50));
+        body.put("title", "Load Tester");
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            String id = objectMapper.readTree(body).path("id").asText(null);
+            if (id != null) {
+                createdIds.add(id);
+            }
+        } catch (IOException e) {
+            // Not an employee; nothing to delete later.
+        }
+    }
+
+    /**
+     * @return the api requests the server has logged so far, and how many of them it answered with 429
+     */
+    private static long[] countUpstream(Path accessLog) throws IOException {
+        long requests = 0;
+        long throttled = 0;
+        if (Files.exists(accessLog)) {
+            for (String line : Files.readAllLines(accessLog)) {
+                if (line.contains(" " + API_PATH)) {
+                    requests++;
+                    if (line.startsWith("429 ")) {
+                        throttled++;
+                    }
+                }
+            }
+        }
+        return new long[] {requests, throttled};
+    }
+
+    private void report(long upstreamRequests, long upstreamThrottled) throws IOException {
+        double seconds = options.duration().toNanos() / 1e9;
+        Map<String, Object> results = new LinkedHashMap<>();
+        System.out.printf(
+                "%n%-15s %9s %8s %9s %9s %9s %9s %7s %7s%n",
+                "operation", "completed", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "err %", "429 %");
+        stats.forEach((operation, operationStats) -> {
+            OperationStats.Summary summary = operationStats.summarise(seconds);
+            results.put(operation.optionName(), summary);
+            print(operation.optionName(), summary);
+        });
+        OperationStats.Summary total = OperationStats.combine(stats.values(), seconds);
+        results.put("total", total);
+        print("total", total);
+
+        double amplification = total.completed() == 0 ? 0 : (double) upstreamRequests / total.completed();
+        System.out.printf(
+                "%nUpstream: %d requests (%.1f%% answered 429), %.3f per api request%n",
+                upstreamRequests,
+                upstreamRequests == 0 ? 0 : 100.0 * upstreamThrottled / upstreamRequests,
+                amplification);
+        results.put(
+                "upstream",
+                Map.of("requests", upstreamRequests, "throttled", upstreamThrottled, "amplification", amplification));
+        results.put(
+                "options",
+                Map.of("rps", options.rps(), "duration", options.duration().toString(), "threads", threads()));
+
+        Path report = options.workDirectory().resolve("report.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report.toFile(), results);
+        System.out.printf("Report written to %s%n", report);
+    }
+
+    private String threads() {
+        return options.virtualThreads() ? "virtual" : "platform";
+    }
+
+    private static void print(String name, OperationStats.Summary summary) {
+        System.out.printf(
+                "%-15s %9d %8.1f %9.2f %9.2f %9.2f %9.2f %7.2f %7.2f%n",
+                name,
+                summary.completed(),
+                summary.throughput(),
+                summary.p50(),
+                summary.p99(),
+                summary.p999(),
+                summary.max(),
+                100 * summary.errorRate(),
+                100 * summary.throttledRate());
+    }
+}
@@ -0,0 +1,108 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Settings of a load test run, given as {@code --name=value} arguments.
+ *
+ * @param rps requests started per second, whether or not earlier ones have completed
+ * @param warmup how long to run before recording, so both JVMs and the api's roster cache are warm
+ * @param duration how long to record
+ * @param mix relative weight of each operation
+ * @param serverArgs extra arguments for the server, {@code --spring.profiles.active=workload-baseline} by default
+ * @param jvmArgs JVM arguments for both applications
+ * @param maxInFlight requests that may be outstanding at once; further ones are counted as dropped, not sent
+ * @param slowestTraces how many of the slowest traced requests to print, or 0 to not export spans at all
+ * @param virtualThreads whether the api serves requests on virtual threads, {@code --threads=virtual}, or on Tomcat's
+ *     platform thread pool, {@code --threads=platform}
+ */
+record LoadTestOptions(
+        Path serverJar,
+        Path apiJar,
+        Path workDirectory,
+        double rps,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        long seed,
+        List<String> serverArgs,
+        List<String> apiArgs,
+        List<String> jvmArgs,
+        int maxInFlight,
+        Duration requestTimeout,
+        int slowestTraces,
+        boolean virtualThreads) {
+
+    static final String DEFAULT_MIX = "list:5,search:20,by-id:40,highest-salary:10,top-ten:10,create:10,delete:5";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        LoadTestOptions parsed = new LoadTestOptions(
+                Path.of(required(options, "server-jar")),
+                Path.of(required(options, "api-jar")),
+                Path.of(options.getOrDefault("work-dir", "build/loadtest")),
+                Double.parseDouble(options.getOrDefault("rps", "100")),
+                DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(options.getOrDefault("duration", "30s")),
+                mix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                words(options.getOrDefault("server-args", "--spring.profiles.active=workload-baseline")),
+                words(options.getOrDefault("api-args", "")),
+                words(options.getOrDefault("jvm-args", "-Xmx512m")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "10000")),
+                DurationStyle.detectAndParse(options.getOrDefault("request-timeout", "10s")),
+                Integer.parseInt(options.getOrDefault("slowest-traces", "5")),
+                virtualThreads(options.getOrDefault("threads", "platform")));
+        if (parsed.rps() <= 0
+                || parsed.duration().isNegative()
+                || parsed.duration().isZero()) {
+            throw new IllegalArgumentException("--rps and --duration must be positive");
+        }
+        return parsed;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+
+    private static boolean virtualThreads(String threads) {
+        return switch (threads) {
+            case "virtual" -> true;
+            case "platform" -> false;
+            default -> throw new IllegalArgumentException("--threads must be virtual or platform");
+        };
+    }
+
+    private static Map<Operation, Integer> mix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.named(parts[0]), Integer.parseInt(parts[1]));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix needs a positive weight");
+        }
+        return weights;
+    }
+
+    private static List<String> words(String value) {
+        return value.isBlank() ? List.of() : List.of(value.trim().split("\\s+"));
+    }
+}
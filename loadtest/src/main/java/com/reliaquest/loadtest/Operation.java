@@ -0,0 +1,33 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The api endpoints a workload mixes.
+ */
+enum Operation {
+    LIST("list"),
+    SEARCH("search"),
+    BY_ID("by-id"),
+    HIGHEST_SALARY("highest-salary"),
+    TOP_TEN("top-ten"),
+    CREATE("create"),
+    DELETE("delete");
+
+    private final String optionName;
+
+    Operation(String optionName) {
+        this.optionName = optionName;
+    }
+
+    String optionName() {
+        return optionName;
+    }
+
+    static Operation named(String optionName) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.optionName.equals(optionName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation " + optionName + " in --mix"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Outcomes and latencies of one operation. Every latency is kept, so percentiles are exact; a run of a few minutes at
+ * a few thousand requests per second fits easily.
+ */
+final class OperationStats {
+
+    private long[] latencies = new long[1024];
+    private int completed;
+    private int succeeded;
+    private int notFound;
+    private int throttled;
+    private int failed;
+    private int dropped;
+
+    /**
+     * @param latencyNanos from when the request was due to be sent, so a stalled generator cannot hide slow responses
+     * @param status the response status, or 0 when there was no response
+     */
+    synchronized void record(long latencyNanos, int status) {
+        if (completed == latencies.length) {
+            latencies = Arrays.copyOf(latencies, completed * 2);
+        }
+        latencies[completed++] = latencyNanos;
+        if (status >= 200 && status < 300) {
+            succeeded++;
+        } else if (status == 404) {
+            notFound++;
+        } else if (status == 429) {
+            throttled++;
+        } else {
+            failed++;
+        }
+    }
+
+    synchronized void recordDropped() {
+        dropped++;
+    }
+
+    synchronized Summary summarise(double seconds) {
+        long[] sorted = Arrays.copyOf(latencies, completed);
+        Arrays.sort(sorted);
+        return new Summary(
+                completed,
+                completed / seconds,
+                succeeded,
+                notFound,
+                throttled,
+                failed,
+                dropped,
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)),
+                millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+    }
+
+    static Summary combine(Iterable<OperationStats> all, double seconds) {
+        OperationStats combined = new OperationStats();
+        all.forEach(combined::absorb);
+        return combined.summarise(seconds);
+    }
+
+    private void absorb(OperationStats other) {
+        synchronized (other) {
+            if (completed + other.completed > latencies.length) {
+                latencies = Arrays.copyOf(latencies, completed + other.completed);
+            }
+            System.arraycopy(other.latencies, 0, latencies, completed, other.completed);
+            completed += other.completed;
+            succeeded += other.succeeded;
+            notFound += other.notFound;
+            throttled += other.throttled;
+            failed += other.failed;
+            dropped += other.dropped;
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * Latencies in milliseconds. Not-found answers are counted apart from failures, since searches for a fragment
+     * nobody matches and reads of deleted employees are expected to produce them.
+     */
+    record Summary(
+            int completed,
+            double throughput,
+            int succeeded,
+            int notFound,
+            int throttled,
+            int failed,
+            int dropped,
+            double p50,
+            double p99,
+            double p999,
+            double max) {
+
+        double throttledRate() {
+            return completed == 0 ? 0 : (double) throttled / completed;
+        }
+
+        double errorRate() {
+            return completed + dropped == 0 ? 0 : (double) (failed + dropped) / (completed + dropped);
+        }
+    }
+}
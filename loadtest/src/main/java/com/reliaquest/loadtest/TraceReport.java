@@ -0,0 +1,156 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Joins the spans that the api and the server wrote, one Zipkin v2 JSON span per line, into traces and prints the
+ * slowest ones as trees.
+ *
+ * <p>Spans on the critical path are marked with {@code *}: walking back from the end of a span, the child that
+ * finished last is on the path, then the child that finished last before that one started, and so on. A path span's
+ * self time is the part of it not covered by its children on the path, such as waiting for a connection or for the
+ * other process to be scheduled.
+ */
+final class TraceReport {
+
+    private final Map<String, List<Span>> children = new HashMap<>();
+    private final List<Span> roots = new ArrayList<>();
+
+    private TraceReport(List<Span> spans) {
+        Set<String> ids = new HashSet<>();
+        spans.forEach(span -> ids.add(span.traceId() + span.id()));
+        for (Span span : spans) {
+            if (span.parentId() == null || !ids.contains(span.traceId() + span.parentId())) {
+                roots.add(span);
+            } else {
+                children.computeIfAbsent(span.traceId() + span.parentId(), key -> new ArrayList<>())
+                        .add(span);
+            }
+        }
+    }
+
+    static TraceReport read(ObjectMapper objectMapper, List<Path> files) throws IOException {
+        List<Span> spans = new ArrayList<>();
+        for (Path file : files) {
+            if (!Files.exists(file)) {
+                continue;
+            }
+            try (BufferedReader in = Files.newBufferedReader(file)) {
+                for (String line = in.readLine(); line != null; line = in.readLine()) {
+                    if (!line.isBlank()) {
+                        spans.add(Span.from(objectMapper.readTree(line)));
+                    }
+                }
+            }
+        }
+        return new TraceReport(spans);
+    }
+
+    /**
+     * @param fromMicros only traces that started at or after this time, in microseconds since the epoch
+     */
+    void printSlowest(int count, long fromMicros) {
+        List<Span> slowest = roots.stream()
+                .filter(root -> root.start() >= fromMicros)
+                .sorted(Comparator.comparingLong(Span::duration).reversed())
+                .limit(count)
+                .toList();
+        if (slowest.isEmpty()) {
+            System.out.printf("%nNo traced requests; is the api sampling any?%n");
+            return;
+        }
+        System.out.printf("%nSlowest traced requests, critical path marked *:%n");
+        for (Span root : slowest) {
+            Map<Span, Long> path = new HashMap<>();
+            criticalPath(root, path);
+            System.out.printf("%ntrace %s%n", root.traceId());
+            System.out.printf("  %9s %9s %9s  %-18s %s%n", "start ms", "total ms", "self ms", "service", "span");
+            print(root, root.start(), 0, path);
+        }
+    }
+
+    /**
+     * Collects the spans on the critical path below {@code span}, with their self time.
+     */
+    private void criticalPath(Span span, Map<Span, Long> path) {
+        long cursor = span.end();
+        long covered = 0;
+        List<Span> latestFirst = new ArrayList<>(childrenOf(span));
+        latestFirst.sort(Comparator.comparingLong(Span::end).reversed());
+        for (Span child : latestFirst) {
+            // Clocks are read separately in each process, so a child may appear to end a little after its parent.
+            long end = Math.min(child.end(), span.end());
+            if (end <= cursor) {
+                criticalPath(child, path);
+                covered += end - Math.max(child.start(), span.start());
+                cursor = child.start();
+            }
+        }
+        path.put(span, Math.max(0, span.duration() - covered));
+    }
+
+    private void print(Span span, long traceStart, int depth, Map<Span, Long> path) {
+        Long self = path.get(span);
+        System.out.printf(
+                "%s %9.2f %9.2f %9s  %-18s %s%s%s%n",
+                self == null ? " " : "*",
+                (span.start() - traceStart) / 1000.0,
+                span.duration() / 1000.0,
+                self == null ? "" : String.format("%.2f", self / 1000.0),
+                span.service(),
+                "  ".repeat(depth),
+                span.name(),
+                span.status() == null ? "" : " [" + span.status() + "]");
+        List<Span> earliestFirst = new ArrayList<>(childrenOf(span));
+        earliestFirst.sort(Comparator.comparingLong(Span::start));
+        for (Span child : earliestFirst) {
+            print(child, traceStart, depth + 1, path);
+        }
+    }
+
+    private List<Span> childrenOf(Span span) {
+        return children.getOrDefault(span.traceId() + span.id(), List.of());
+    }
+
+    /**
+     * A span with its timestamps in microseconds; the status is only set for HTTP spans.
+     */
+    private record Span(
+            String traceId,
+            String parentId,
+            String id,
+            String service,
+            String name,
+            long start,
+            long duration,
+            String status) {
+
+        static Span from(JsonNode json) {
+            return new Span(
+                    json.path("traceId").asText(),
+                    json.path("parentId").asText(null),
+                    json.path("id").asText(),
+                    json.path("localEndpoint").path("serviceName").asText("?"),
+                    json.path("name").asText("?"),
+                    json.path("timestamp").asLong(),
+                    json.path("duration").asLong(),
+                    json.path("tags").path("status").asText(null));
+        }
+
+        long end() {
+            return start + duration;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.observability;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Logs a sampled summary of each request once its response is complete, including responses written after the
+ * handler returned. See {@link RequestSummaryLog}. Registered just inside Boot's observation filter, a summary written
+ * before the handler returns carries the request's trace id.
+ */
+public class RequestSummaryFilter extends OncePerRequestFilter {
+
+    private final RequestSummaryLog summaryLog;
+
+    public RequestSummaryFilter(double sampleRate, Duration slowThreshold) {
+        this.summaryLog = new RequestSummaryLog(sampleRate, slowThreshold.toNanos());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(started));
+            } else {
+                record(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), started);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long started) {
+        summaryLog.record(
+                request.getMethod(),
+                request.getRequestURI(),
+                request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE),
+                status,
+                System.nanoTime() - started);
+    }
+
+    private final class CompletionListener implements AsyncListener {
+
+        private final long started;
+
+        CompletionListener(long started) {
+            this.started = started;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            record((HttpServletRequest) event.getSuppliedRequest(), response.getStatus(), started);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        /*
+         * A further async cycle, such as the server dripping a response after injected latency, only notifies
+         * listeners that register again.
+         */
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.reliaquest.observability;
+
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes one {@code key=value} line per request that failed with a 5xx or took at least {@code slowNanos}, and for a
+ * {@code sampleRate} fraction of the rest. Nothing is formatted for requests that are not logged, and the whole line
+ * can be switched off by setting this class's logger above INFO.
+ */
+@Slf4j
+public final class RequestSummaryLog {
+
+    private final double sampleRate;
+    private final long slowNanos;
+
+    public RequestSummaryLog(double sampleRate, long slowNanos) {
+        this.sampleRate = sampleRate;
+        this.slowNanos = slowNanos;
+    }
+
+    public void record(String method, String path, Object route, int status, long elapsedNanos) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        if (status < 500
+                && elapsedNanos < slowNanos
+                && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        log.info(
+                "method={} path={} route={} status={} duration_ms={}",
+                method,
+                path,
+                route == null ? "-" : route,
+                status,
+                elapsedNanos / 1_000_000.0);
+    }
+}
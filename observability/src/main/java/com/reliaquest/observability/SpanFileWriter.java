@@ -0,0 +1,126 @@
+package com.reliaquest.observability;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends finished spans to a file, one Zipkin v2 JSON span per line.
+ *
+ * <p>Spans end on request threads, so they are only copied into a bounded queue there and dropped when it is full; a
+ * background thread formats and writes them.
+ */
+@Slf4j
+public class SpanFileWriter extends SpanHandler implements Closeable {
+
+    private static final int QUEUE_SIZE = 10_000;
+    private static final int BATCH_SIZE = 512;
+    private static final long POLL_MILLIS = 100;
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter out;
+    private final BlockingQueue<Map<String, Object>> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private volatile boolean closed;
+
+    public SpanFileWriter(Path file, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.out = Files.newBufferedWriter(
+                file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.writer = new Thread(this::drain, "span-file-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Writing spans to {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.FINISHED && !queue.offer(toJson(span))) {
+            dropped.increment();
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        out.close();
+        if (dropped.sum() > 0) {
+            log.warn("Dropped {} spans while the span file could not keep up", dropped.sum());
+        }
+    }
+
+    /*
+     * Not stopped by interruption, which would close the file channel under a write; it notices close() within a poll.
+     */
+    private void drain() {
+        List<Map<String, Object>> batch = new ArrayList<>(BATCH_SIZE);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                Map<String, Object> next = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    continue;
+                }
+                batch.add(next);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                for (Map<String, Object> span : batch) {
+                    out.write(objectMapper.writeValueAsString(span));
+                    out.newLine();
+                }
+                out.flush();
+            } catch (IOException e) {
+                log.warn("Could not write {} spans", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    private static Map<String, Object> toJson(MutableSpan span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.traceId());
+        json.put("parentId", span.parentId());
+        json.put("id", span.id());
+        json.put("kind", span.kind() == null ? null : span.kind().name());
+        json.put("name", span.name());
+        json.put("timestamp", span.startTimestamp());
+        json.put("duration", Math.max(1, span.finishTimestamp() - span.startTimestamp()));
+        json.put("localEndpoint", Map.of("serviceName", String.valueOf(span.localServiceName())));
+        Map<String, String> tags = new LinkedHashMap<>();
+        span.forEachTag((target, key, value) -> target.put(key, value), tags);
+        if (span.error() != null) {
+            tags.putIfAbsent("error", String.valueOf(span.error().getMessage()));
+        }
+        json.put("tags", tags);
+        return json;
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.web.FaultInjectionFilter;
+import com.reliaquest.server.web.FaultRule;
+import jakarta.servlet.DispatcherType;
+import java.util.List;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Fault injection starts with the rules in {@code mock.faults.rules}, none by default, which {@code /admin/faults}
+ * can replace at runtime. The filter runs right after request logging, so injected latency shows in the request's
+ * server span and also delays the rate limiter's decision.
+ */
+@Configuration
+public class FaultInjectionConfiguration {
+
+    @Bean
+    public FaultInjectionFilter faultInjectionFilter(ObjectMapper objectMapper, Environment environment) {
+        List<FaultRule> rules = Binder.get(environment)
+                .bind("mock.faults.rules", Bindable.listOf(FaultRule.class))
+                .orElse(List.of());
+        return new FaultInjectionFilter(objectMapper, rules);
+    }
+
+    @Bean
+    public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilterRegistration(
+            FaultInjectionFilter faultInjectionFilter) {
+        FilterRegistrationBean<FaultInjectionFilter> registration = new FilterRegistrationBean<>(faultInjectionFilter);
+        registration.setAsyncSupported(true);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.FileBackedEmployeeStore;
+import com.reliaquest.server.store.InMemoryEmployeeStore;
+import com.reliaquest.server.web.FaultInjectionFilter;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meters for the store, the rate limiter and fault injection, read from counts the components keep anyway when
+ * scraped. Per-route timers come from Spring Boot's {@code http.server.requests}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder employeeStoreMetrics(EmployeeStore employeeStore) {
+        return registry -> {
+            Gauge.builder("mock.store.employees", employeeStore, store -> store.snapshot()
+                            .size())
+                    .register(registry);
+            if (employeeStore instanceof InMemoryEmployeeStore memory) {
+                Gauge.builder("mock.store.slots", memory, InMemoryEmployeeStore::slots)
+                        .description("Entries held, including removed ones awaiting compaction")
+                        .register(registry);
+                Gauge.builder("mock.store.memory", memory, InMemoryEmployeeStore::estimatedBytes)
+                        .description("Estimated heap held by the store")
+                        .baseUnit("bytes")
+                        .register(registry);
+            }
+            if (employeeStore instanceof FileBackedEmployeeStore file) {
+                Gauge.builder("mock.store.slots", file, FileBackedEmployeeStore::slots)
+                        .description("Entries held, including removed ones awaiting compaction")
+                        .register(registry);
+                Gauge.builder("mock.store.memory", file, FileBackedEmployeeStore::estimatedBytes)
+                        .description("Estimated heap held by the store, apart from the mapped snapshot")
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("mock.store.snapshot.size", file, FileBackedEmployeeStore::snapshotBytes)
+                        .description("Snapshot mapped into memory, outside the heap")
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("mock.store.log.size", file, FileBackedEmployeeStore::logBytes)
+                        .baseUnit("bytes")
+                        .register(registry);
+            }
+        };
+    }
+
+    /*
+     * The rate limiter can be switched off, in which case it has no meters.
+     */
+    @Bean
+    public MeterBinder rateLimitMetrics(ObjectProvider<RateLimitInterceptor> rateLimitInterceptor) {
+        return registry -> rateLimitInterceptor.ifAvailable(limiter -> {
+            FunctionCounter.builder("mock.rate.limit.requests", limiter, RateLimitInterceptor::admitted)
+                    .tag("outcome", "admitted")
+                    .register(registry);
+            FunctionCounter.builder("mock.rate.limit.requests", limiter, RateLimitInterceptor::rejected)
+                    .tag("outcome", "rejected")
+                    .register(registry);
+            Gauge.builder("mock.rate.limit.clients", limiter, RateLimitInterceptor::trackedClients)
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder faultInjectionMetrics(FaultInjectionFilter faultInjectionFilter) {
+        return registry -> {
+            FunctionCounter.builder("mock.faults", faultInjectionFilter, FaultInjectionFilter::delayedRequests)
+                    .tag("fault", "latency")
+                    .register(registry);
+            FunctionCounter.builder("mock.faults", faultInjectionFilter, FaultInjectionFilter::injectedErrors)
+                    .tag("fault", "error")
+                    .register(registry);
+            FunctionCounter.builder("mock.faults", faultInjectionFilter, FaultInjectionFilter::droppedConnections)
+                    .tag("fault", "reset")
+                    .register(registry);
+            FunctionCounter.builder("mock.faults", faultInjectionFilter, FaultInjectionFilter::drippedResponses)
+                    .tag("fault", "drip")
+                    .register(registry);
+        };
+    }
+}
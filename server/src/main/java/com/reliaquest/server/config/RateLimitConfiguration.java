@@ -0,0 +1,71 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.BurstBackoff;
+import com.reliaquest.server.web.RateLimitAlgorithm;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import com.reliaquest.server.web.SlidingWindow;
+import com.reliaquest.server.web.TokenBucket;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Limits requests per client with {@code mock.rate-limit.algorithm}: {@code burst-backoff}, the default, rejects a
+ * client for {@code backoff} once it has made {@code max-requests} requests; {@code token-bucket} and
+ * {@code sliding-window} allow {@code max-requests} per {@code window}. A limit or backoff left unset is picked at
+ * random on every start, as the mock always did.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "mock.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfiguration {
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(
+            @Value("${mock.rate-limit.algorithm:burst-backoff}") String algorithm,
+            @Value("${mock.rate-limit.max-requests:#{null}}") Integer maxRequests,
+            @Value("${mock.rate-limit.backoff:#{null}}") Duration backoff,
+            @Value("${mock.rate-limit.window:1m}") Duration window,
+            @Value("${mock.rate-limit.client-header:#{null}}") String clientHeader,
+            @Value("${mock.rate-limit.max-clients:10000}") int maxClients) {
+        return new RateLimitInterceptor(
+                rateLimitAlgorithm(algorithm, maxRequests, backoff, window), clientHeader, maxClients);
+    }
+
+    @Bean
+    public WebMvcConfigurer rateLimitInterceptorRegistration(RateLimitInterceptor rateLimitInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+
+    private static RateLimitAlgorithm rateLimitAlgorithm(
+            String algorithm, Integer maxRequests, Duration backoff, Duration window) {
+        int limit =
+                maxRequests != null ? maxRequests : RandomGenerator.getDefault().nextInt(5, 10);
+        RateLimitAlgorithm rateLimitAlgorithm =
+                switch (algorithm.toLowerCase(Locale.ROOT)) {
+                    case "burst-backoff" -> new BurstBackoff(
+                            limit,
+                            backoff != null
+                                    ? backoff
+                                    : Duration.ofSeconds(
+                                            RandomGenerator.getDefault().nextInt(30, 90)));
+                    case "token-bucket" -> new TokenBucket(limit, window);
+                    case "sliding-window" -> new SlidingWindow(limit, window);
+                    default -> throw new IllegalArgumentException("Unknown mock.rate-limit.algorithm: " + algorithm);
+                };
+        log.info("Rate limiting each client to {} requests with {}", limit, algorithm);
+        return rateLimitAlgorithm;
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.observability.RequestSummaryFilter;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Request summaries are sampled at {@code mock.request-log.sample-rate}, 1% by default, while failed requests and
+ * those slower than {@code mock.request-log.slow-threshold} are always logged. The filter runs just inside Boot's
+ * observation filter, so summaries carry the trace id, and outside fault injection, so they include injected faults.
+ */
+@Configuration
+public class RequestLogConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<RequestSummaryFilter> requestSummaryFilterRegistration(
+            @Value("${mock.request-log.sample-rate:0.01}") double sampleRate,
+            @Value("${mock.request-log.slow-threshold:1s}") Duration slowThreshold) {
+        FilterRegistrationBean<RequestSummaryFilter> registration =
+                new FilterRegistrationBean<>(new RequestSummaryFilter(sampleRate, slowThreshold));
+        registration.setAsyncSupported(true);
+        registration.setDispatcherTypes(DispatcherType.REQUEST);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -1,27 +1,21 @@
 package com.reliaquest.server.config;
 
+import com.reliaquest.server.generator.MockEmployeeGenerator;
+import com.reliaquest.server.generator.WorkloadProfile;
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.context.annotation.Lazy;
 
 @Slf4j
 @Configuration
-public class ServerConfiguration implements WebMvcConfigurer {
+public class ServerConfiguration {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
@@ -31,29 +25,42 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Everything that shapes the generated roster, so that benchmark runs can be reproduced; the workload-* profiles
+     * fix all of it. Without mock.employees.seed a random seed is used, and logged so the roster can be reproduced.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public WorkloadProfile workloadProfile(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.locale:#{null}}") String locale,
+            @Value("${mock.employees.salary.distribution:uniform}") String salaryDistribution,
+            @Value("${mock.employees.salary.min:30000}") int minSalary,
+            @Value("${mock.employees.salary.max:499999}") int maxSalary,
+            @Value("${mock.employees.salary.median:80000}") int medianSalary,
+            @Value("${mock.employees.salary.sigma:0.6}") double salarySigma,
+            @Value("${mock.employees.names.duplicate-ratio:0}") double duplicateNameRatio,
+            @Value("${mock.employees.names.duplicate-pool:100}") int duplicateNamePool) {
+        return new WorkloadProfile(
+                seed != null ? seed : RandomGenerator.getDefault().nextLong(),
+                maxEmployees,
+                locale != null ? Locale.forLanguageTag(locale) : Locale.getDefault(),
+                WorkloadProfile.SalaryDistribution.valueOf(
+                        salaryDistribution.toUpperCase(Locale.ROOT).replace('-', '_')),
+                minSalary,
+                maxSalary,
+                medianSalary,
+                salarySigma,
+                duplicateNameRatio,
+                duplicateNamePool);
     }
 
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+    /*
+     * The initial roster; CRUD operations work on the EmployeeStore seeded from it. Lazy, since a durable store that
+     * already holds a roster never asks for it.
+     */
+    @Lazy
+    @Bean
+    public List<MockEmployee> mockEmployees(WorkloadProfile workloadProfile) {
+        return new MockEmployeeGenerator(workloadProfile).generate();
     }
 }
@@ -0,0 +1,39 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.FileBackedEmployeeStore;
+import com.reliaquest.server.store.InMemoryEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link EmployeeStore} with {@code mock.store.type}: {@code memory}, the default, serves a freshly
+ * generated roster on every start; {@code file} keeps the roster in {@code mock.store.directory} across restarts.
+ */
+@Configuration
+public class StoreConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "mock.store.type", havingValue = "memory", matchIfMissing = true)
+    public EmployeeStore inMemoryEmployeeStore(List<MockEmployee> mockEmployees) {
+        return new InMemoryEmployeeStore(mockEmployees);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "mock.store.type", havingValue = "file")
+    public EmployeeStore fileBackedEmployeeStore(
+            ObjectProvider<List<MockEmployee>> mockEmployees,
+            @Value("${mock.store.directory:mock-data}") Path directory,
+            @Value("${mock.store.compaction-interval:1m}") Duration compactionInterval)
+            throws IOException {
+        return new FileBackedEmployeeStore(directory, mockEmployees::getObject, compactionInterval);
+    }
+}
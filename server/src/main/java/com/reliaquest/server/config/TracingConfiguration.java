@@ -0,0 +1,25 @@
+package com.reliaquest.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.observability.SpanFileWriter;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Requests that carry a W3C {@code traceparent} header continue the caller's trace, sampled or not as the caller
+ * decided. Spans are only written out when {@code mock.tracing.file} names a file to append them to.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    @ConditionalOnProperty("mock.tracing.file")
+    public SpanFileWriter spanFileWriter(@Value("${mock.tracing.file}") Path file, ObjectMapper objectMapper)
+            throws IOException {
+        return new SpanFileWriter(file, objectMapper);
+    }
+}
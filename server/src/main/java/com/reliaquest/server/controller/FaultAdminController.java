@@ -0,0 +1,44 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.FaultInjectionFilter;
+import com.reliaquest.server.web.FaultRule;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reads and replaces the fault injection rules at runtime; see {@link FaultRule} for their format.
+ */
+@RestController
+@RequestMapping("/admin/faults")
+@RequiredArgsConstructor
+public class FaultAdminController {
+
+    private final FaultInjectionFilter faultInjectionFilter;
+
+    @GetMapping()
+    public List<FaultRule> getRules() {
+        return faultInjectionFilter.getRules();
+    }
+
+    @PutMapping()
+    public ResponseEntity<?> replaceRules(@RequestBody List<FaultRule> rules) {
+        if (rules == null || rules.contains(null)) {
+            return ResponseEntity.badRequest().body(Response.error("Expected a list of fault rules"));
+        }
+        faultInjectionFilter.setRules(rules);
+        return ResponseEntity.ok(faultInjectionFilter.getRules());
+    }
+
+    @DeleteMapping()
+    public void clearRules() {
+        faultInjectionFilter.setRules(List.of());
+    }
+}
@@ -0,0 +1,126 @@
+package com.reliaquest.server.generator;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+/**
+ * Generates the initial mock roster in parallel, shaped by a {@link WorkloadProfile}.
+ *
+ * <p>The roster is cut into fixed-size chunks that are generated concurrently, each into its own slice of the result.
+ * A chunk's random numbers, ids included, come from a {@link Random} seeded with the profile's seed and the chunk
+ * number only, so the same profile always yields the same roster however many threads take part. Each thread reuses
+ * one {@link Faker}, reseeding its {@link Random} at the start of every chunk.
+ */
+@Slf4j
+public class MockEmployeeGenerator {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private final WorkloadProfile profile;
+    private final ThreadLocal<SeededFaker> fakers;
+    private final String[] duplicateNames;
+
+    public MockEmployeeGenerator(WorkloadProfile profile) {
+        this.profile = profile;
+        this.fakers = ThreadLocal.withInitial(() -> {
+            Random random = new Random();
+            return new SeededFaker(random, new Faker(profile.locale(), random));
+        });
+        this.duplicateNames = duplicateNames();
+    }
+
+    public List<MockEmployee> generate() {
+        long started = System.nanoTime();
+        MockEmployee[] employees = new MockEmployee[profile.employees()];
+        int chunks = (employees.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> fill(employees, chunk));
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - started);
+        log.info(
+                "Generated {} employees with seed {} in {} ms ({} per second)",
+                employees.length,
+                profile.seed(),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                employees.length * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        return Arrays.asList(employees);
+    }
+
+    private void fill(MockEmployee[] employees, int chunk) {
+        SeededFaker seeded = fakers.get();
+        Random random = seeded.random();
+        random.setSeed(chunkSeed(chunk));
+        Faker faker = seeded.faker();
+        int end = Math.min(employees.length, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+            employees[i] = new MockEmployee(
+                    randomUuid(random),
+                    name(faker, random),
+                    salary(random),
+                    faker.number().numberBetween(16, 70),
+                    faker.job().title(),
+                    ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()));
+        }
+    }
+
+    /*
+     * Pooled names are upper-cased one time in four, so the duplicates also differ in case.
+     */
+    private String name(Faker faker, Random random) {
+        if (duplicateNames.length > 0 && random.nextDouble() < profile.duplicateNameRatio()) {
+            String name = duplicateNames[random.nextInt(duplicateNames.length)];
+            return random.nextInt(4) == 0 ? name.toUpperCase(profile.locale()) : name;
+        }
+        return faker.name().fullName();
+    }
+
+    private int salary(Random random) {
+        return switch (profile.salaries()) {
+            case UNIFORM -> profile.minSalary() + random.nextInt(profile.maxSalary() - profile.minSalary() + 1);
+            case LOG_NORMAL -> {
+                double drawn = profile.medianSalary() * Math.exp(profile.salarySigma() * random.nextGaussian());
+                yield (int) Math.max(profile.minSalary(), Math.min(profile.maxSalary(), Math.round(drawn)));
+            }
+        };
+    }
+
+    private String[] duplicateNames() {
+        if (profile.duplicateNameRatio() == 0) {
+            return new String[0];
+        }
+        Random random = new Random(profile.seed());
+        Faker faker = new Faker(profile.locale(), random);
+        String[] names = new String[profile.duplicateNamePool()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = faker.name().fullName();
+        }
+        return names;
+    }
+
+    /*
+     * Spreads the chunk number with the golden-ratio increment, as SplittableRandom does, so neighbouring chunks do not
+     * get neighbouring seeds.
+     */
+    private long chunkSeed(int chunk) {
+        return profile.seed() + (chunk + 1) * 0x9E3779B97F4A7C15L;
+    }
+
+    /*
+     * A version 4 UUID, like UUID.randomUUID(), but drawn from the chunk's seeded random.
+     */
+    private static UUID randomUuid(Random random) {
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(high, low);
+    }
+
+    private record SeededFaker(Random random, Faker faker) {}
+}
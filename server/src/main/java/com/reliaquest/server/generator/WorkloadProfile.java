@@ -0,0 +1,49 @@
+package com.reliaquest.server.generator;
+
+import java.util.Locale;
+
+/**
+ * Shape of a generated roster. Two runs with the same profile generate byte-identical rosters.
+ *
+ * @param seed seeds every random choice, ids included
+ * @param employees roster size
+ * @param locale Faker locale; part of the profile because names, titles and user names depend on it
+ * @param salaries how salaries are drawn between {@code minSalary} and {@code maxSalary}
+ * @param medianSalary centre of a {@link SalaryDistribution#LOG_NORMAL} distribution
+ * @param salarySigma spread of a {@link SalaryDistribution#LOG_NORMAL} distribution; larger values skew further
+ * @param duplicateNameRatio share of employees named from a small pool instead of uniquely, to exercise deletes that
+ *     match several employees
+ * @param duplicateNamePool number of distinct names in that pool
+ */
+public record WorkloadProfile(
+        long seed,
+        int employees,
+        Locale locale,
+        SalaryDistribution salaries,
+        int minSalary,
+        int maxSalary,
+        int medianSalary,
+        double salarySigma,
+        double duplicateNameRatio,
+        int duplicateNamePool) {
+
+    public WorkloadProfile {
+        if (minSalary > maxSalary) {
+            throw new IllegalArgumentException("minSalary " + minSalary + " exceeds maxSalary " + maxSalary);
+        }
+        if (duplicateNameRatio < 0 || duplicateNameRatio > 1) {
+            throw new IllegalArgumentException("duplicateNameRatio must be within [0, 1]: " + duplicateNameRatio);
+        }
+        if (duplicateNameRatio > 0 && duplicateNamePool < 1) {
+            throw new IllegalArgumentException("duplicateNamePool must be positive: " + duplicateNamePool);
+        }
+    }
+
+    public enum SalaryDistribution {
+        UNIFORM,
+        /**
+         * Most salaries near the median with a long tail of high earners, clamped to the salary range.
+         */
+        LOG_NORMAL
+    }
+}
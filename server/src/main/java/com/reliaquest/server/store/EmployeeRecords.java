@@ -0,0 +1,97 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary encoding of employees for the files of {@link FileBackedEmployeeStore}.
+ *
+ * <p>An employee is a presence byte and two {@code long}s for the id, two {@code int}s for salary and age with
+ * {@link Integer#MIN_VALUE} standing for a missing value, and length-prefixed UTF-8 for name, title and email, where
+ * a length of -1 stands for a missing string.
+ */
+final class EmployeeRecords {
+
+    private static final int MISSING = Integer.MIN_VALUE;
+    private static final int NAME_AT = 1 + 8 + 8 + 4 + 4;
+
+    private EmployeeRecords() {}
+
+    static void write(DataOutput out, MockEmployee employee) throws IOException {
+        UUID id = employee.getId();
+        out.writeBoolean(id != null);
+        out.writeLong(id == null ? 0 : id.getMostSignificantBits());
+        out.writeLong(id == null ? 0 : id.getLeastSignificantBits());
+        out.writeInt(employee.getSalary() == null ? MISSING : employee.getSalary());
+        out.writeInt(employee.getAge() == null ? MISSING : employee.getAge());
+        writeString(out, employee.getName());
+        writeString(out, employee.getTitle());
+        writeString(out, employee.getEmail());
+    }
+
+    static MockEmployee read(ByteBuffer in) {
+        boolean hasId = in.get() != 0;
+        long high = in.getLong();
+        long low = in.getLong();
+        int salary = in.getInt();
+        int age = in.getInt();
+        return new MockEmployee(
+                hasId ? new UUID(high, low) : null,
+                readString(in),
+                salary == MISSING ? null : salary,
+                age == MISSING ? null : age,
+                readString(in),
+                readString(in));
+    }
+
+    /**
+     * Decodes the employee encoded at {@code offset}, leaving {@code in} untouched so it can be shared by threads.
+     */
+    static MockEmployee readAt(ByteBuffer in, int offset) {
+        return read(in.duplicate().position(offset));
+    }
+
+    /**
+     * Whether the employee encoded at {@code offset} has this id, read without decoding the rest of it.
+     */
+    static boolean hasIdAt(ByteBuffer in, int offset, long idHigh, long idLow) {
+        return in.get(offset) != 0 && in.getLong(offset + 1) == idHigh && in.getLong(offset + 9) == idLow;
+    }
+
+    /**
+     * Name of the employee encoded at {@code offset}, read without decoding the rest of it.
+     */
+    static String nameAt(ByteBuffer in, int offset) {
+        int length = in.getInt(offset + NAME_AT);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(offset + NAME_AT + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Holds the mock roster. Implementations are safe for concurrent use: reads never block on writes, and
+ * {@link #snapshot()} is a consistent view that later writes leave untouched.
+ */
+public interface EmployeeStore {
+
+    /**
+     * Immutable view of every employee, in insertion order.
+     */
+    List<MockEmployee> snapshot();
+
+    Optional<MockEmployee> findById(UUID id);
+
+    void add(MockEmployee employee);
+
+    /**
+     * Removes the earliest added employee whose name matches ignoring case.
+     */
+    Optional<MockEmployee> removeFirstByName(String name);
+}
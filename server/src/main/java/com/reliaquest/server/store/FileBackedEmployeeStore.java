@@ -0,0 +1,477 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link EmployeeStore} that survives restarts, so load tests can be repeated against the same roster.
+ *
+ * <p>The roster is a {@link MappedSnapshot}, read in place, plus the changes made since it was written: employees
+ * added since are held by an {@link InMemoryEmployeeStore}, and snapshot employees removed since are stamped in an
+ * array of removal versions, in the way that store stamps its entries, so lists already handed out never change.
+ * Every write is first appended to a log of create and delete records, each framed with its length and a CRC so that
+ * a torn tail is detected and cut off on recovery. Periodically, and on close, the roster is compacted into a new
+ * snapshot, which is mapped in place of the old one, and the log is restarted. On start the snapshot is mapped and the
+ * log is replayed on top of it; the seed roster is only generated when there is no snapshot yet.
+ *
+ * <p>Snapshot and log carry the generation of the compaction that produced them. A log whose generation does not
+ * match the snapshot's was already folded into it, since the snapshot is replaced before the log is restarted, and is
+ * discarded. Log appends are not forced to disk individually: a crash can lose the writes since the last compaction
+ * that the operating system had not flushed yet, which is acceptable for a mock.
+ *
+ * <p>Nothing is decoded on start, so a warm start takes milliseconds whatever the size of the roster, plus the replay
+ * of the log. The price is paid on reads instead: snapshot employees are decoded each time they are read, and a
+ * removal or a compaction publishes a new roster rather than editing the mapping, which readers may still hold.
+ */
+@Slf4j
+public class FileBackedEmployeeStore implements EmployeeStore, Closeable {
+
+    static final String SNAPSHOT_FILE = "employees.snapshot";
+    static final String LOG_FILE = "employees.log";
+
+    private static final int LOG_MAGIC = 0x4D4C4F47;
+    private static final int LOG_VERSION = 1;
+    private static final int LOG_HEADER_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final byte CREATE = 1;
+    private static final byte DELETE = 2;
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(recordBuffer);
+    private final CRC32 crc = new CRC32();
+    private final ScheduledExecutorService compactor;
+
+    private FileChannel logChannel;
+    private long generation;
+    private AtomicLongArray removedAt;
+    private long logRecords;
+    private volatile long logBytes;
+    private volatile Roster roster;
+
+    public FileBackedEmployeeStore(Path directory, Supplier<List<MockEmployee>> seed, Duration compactionInterval)
+            throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.logPath = directory.resolve(LOG_FILE);
+
+        long started = System.nanoTime();
+        if (Files.exists(snapshotPath)) {
+            mapSnapshot();
+            generation = roster.base.generation();
+            if (!replayLog()) {
+                startLog();
+            }
+            log.info(
+                    "Opened {} employees from {} in {} ms, including {} replayed log records",
+                    roster.size(),
+                    directory,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                    logRecords);
+        } else {
+            generation = 1;
+            MappedSnapshot.write(snapshotPath, generation, seed.get());
+            mapSnapshot();
+            startLog();
+            log.info("Seeded {} employees into {}", roster.size(), directory);
+        }
+
+        this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-store-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = compactionInterval.toMillis();
+        compactor.scheduleWithFixedDelay(this::compactQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public List<MockEmployee> snapshot() {
+        return roster;
+    }
+
+    /**
+     * Employees in the mapped snapshot, removed or not, plus the slots of the store holding the ones added since.
+     */
+    public int slots() {
+        Roster current = roster;
+        return current.base.count() + current.appended.slots();
+    }
+
+    /**
+     * Rough heap footprint of the changes made since the snapshot; the snapshot itself is mapped outside the heap.
+     */
+    public long estimatedBytes() {
+        Roster current = roster;
+        long removals = current.removedAt == null ? 0 : (long) current.removedAt.length() * Long.BYTES;
+        return current.appended.estimatedBytes() + removals;
+    }
+
+    /**
+     * Size of the mapped snapshot.
+     */
+    public long snapshotBytes() {
+        return roster.base.bytes();
+    }
+
+    /**
+     * Size of the log still to be compacted into the snapshot.
+     */
+    public long logBytes() {
+        return logBytes;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID id) {
+        Roster current = roster;
+        int index = current.base.firstWithId(id, current::isLive);
+        return index >= 0 ? Optional.of(current.base.employee(index)) : current.appended.findById(id);
+    }
+
+    @Override
+    public void add(MockEmployee employee) {
+        writeLock.lock();
+        try {
+            recordBuffer.reset();
+            recordOut.writeByte(CREATE);
+            EmployeeRecords.write(recordOut, employee);
+            appendRecord();
+            applyAdd(employee);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not log new employee", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /*
+     * Logged before it is applied, whether or not it matches; replaying a delete that matched nothing is a no-op.
+     */
+    @Override
+    public Optional<MockEmployee> removeFirstByName(String name) {
+        writeLock.lock();
+        try {
+            recordBuffer.reset();
+            recordOut.writeByte(DELETE);
+            EmployeeRecords.writeString(recordOut, name);
+            appendRecord();
+            return applyRemove(name);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not log employee removal", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Folds the log into a new snapshot. Writes wait meanwhile; reads do not.
+     */
+    public void compact() throws IOException {
+        writeLock.lock();
+        try {
+            if (logRecords == 0) {
+                return;
+            }
+            long started = System.nanoTime();
+            generation++;
+            MappedSnapshot.write(snapshotPath, generation, roster);
+            mapSnapshot();
+            startLog();
+            log.info(
+                    "Compacted {} employees into generation {} in {} ms",
+                    roster.size(),
+                    generation,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        compactor.shutdownNow();
+        writeLock.lock();
+        try {
+            compact();
+            logChannel.force(true);
+            logChannel.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Compacting the employee store failed, will retry", e);
+        }
+    }
+
+    private void appendRecord() throws IOException {
+        byte[] payload = recordBuffer.toByteArray();
+        crc.reset();
+        crc.update(payload);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload)
+                .flip();
+        while (record.hasRemaining()) {
+            logChannel.write(record);
+        }
+        logRecords++;
+        logBytes += RECORD_HEADER_BYTES + payload.length;
+    }
+
+    /*
+     * Starts over from the snapshot just written, or found on start, with nothing added or removed since.
+     */
+    private void mapSnapshot() throws IOException {
+        MappedSnapshot base = MappedSnapshot.open(snapshotPath);
+        InMemoryEmployeeStore appended = new InMemoryEmployeeStore(List.of());
+        removedAt = null;
+        roster = new Roster(base, null, 0, base.count(), appended, appended.snapshot());
+    }
+
+    private void applyAdd(MockEmployee employee) {
+        Roster current = roster;
+        current.appended.add(employee);
+        roster = new Roster(
+                current.base,
+                current.removedAt,
+                current.version + 1,
+                current.baseLive,
+                current.appended,
+                current.appended.snapshot());
+    }
+
+    /*
+     * Snapshot employees come before those added since, so the snapshot is searched first.
+     */
+    private Optional<MockEmployee> applyRemove(String name) {
+        Roster current = roster;
+        long version = current.version + 1;
+        int index = current.base.firstNamed(name, i -> removedAt == null || removedAt.get(i) == 0);
+        if (index >= 0) {
+            if (removedAt == null) {
+                removedAt = new AtomicLongArray(current.base.count());
+            }
+            removedAt.set(index, version);
+            roster = new Roster(
+                    current.base, removedAt, version, current.baseLive - 1, current.appended, current.appendedSnapshot);
+            return Optional.of(current.base.employee(index));
+        }
+        Optional<MockEmployee> removed = current.appended.removeFirstByName(name);
+        if (removed.isPresent()) {
+            roster = new Roster(
+                    current.base,
+                    current.removedAt,
+                    version,
+                    current.baseLive,
+                    current.appended,
+                    current.appended.snapshot());
+        }
+        return removed;
+    }
+
+    /**
+     * Replays a log of the snapshot's generation and reopens it for appending after its last intact record.
+     *
+     * @return {@code false} when there is no such log
+     */
+    private boolean replayLog() throws IOException {
+        if (!Files.exists(logPath)) {
+            return false;
+        }
+        FileChannel channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < LOG_HEADER_BYTES || size > Integer.MAX_VALUE) {
+            channel.close();
+            return false;
+        }
+        MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (in.getInt() != LOG_MAGIC || in.getInt() != LOG_VERSION || in.getLong() != generation) {
+            channel.close();
+            return false;
+        }
+        long intact = in.position();
+        while (in.remaining() >= RECORD_HEADER_BYTES) {
+            int length = in.getInt();
+            int checksum = in.getInt();
+            if (length <= 0 || length > in.remaining()) {
+                break;
+            }
+            ByteBuffer payload = in.slice(in.position(), length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            apply(payload);
+            in.position(in.position() + length);
+            intact = in.position();
+            logRecords++;
+        }
+        if (intact < size) {
+            log.warn("Discarding {} bytes of incomplete log records from {}", size - intact, logPath);
+            channel.truncate(intact);
+        }
+        channel.position(intact);
+        logChannel = channel;
+        logBytes = intact;
+        return true;
+    }
+
+    private void apply(ByteBuffer record) {
+        byte type = record.get();
+        if (type == CREATE) {
+            applyAdd(EmployeeRecords.read(record));
+        } else if (type == DELETE) {
+            applyRemove(EmployeeRecords.readString(record));
+        } else {
+            throw new IllegalStateException("Unknown log record type " + type);
+        }
+    }
+
+    private void startLog() throws IOException {
+        if (logChannel != null) {
+            logChannel.close();
+        }
+        logChannel = FileChannel.open(
+                logPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES)
+                .putInt(LOG_MAGIC)
+                .putInt(LOG_VERSION)
+                .putLong(generation)
+                .flip();
+        while (header.hasRemaining()) {
+            logChannel.write(header);
+        }
+        logChannel.force(true);
+        logRecords = 0;
+        logBytes = LOG_HEADER_BYTES;
+    }
+
+    /**
+     * The snapshot employees not yet removed at {@code version}, followed by those added since. Snapshot employees are
+     * decoded as they are reached, and {@link #get} only counts its way past removed ones, without decoding them.
+     */
+    private static final class Roster extends AbstractList<MockEmployee> {
+
+        private final MappedSnapshot base;
+        private final AtomicLongArray removedAt;
+        private final long version;
+        private final int baseLive;
+        private final InMemoryEmployeeStore appended;
+        private final List<MockEmployee> appendedSnapshot;
+
+        Roster(
+                MappedSnapshot base,
+                AtomicLongArray removedAt,
+                long version,
+                int baseLive,
+                InMemoryEmployeeStore appended,
+                List<MockEmployee> appendedSnapshot) {
+            this.base = base;
+            this.removedAt = removedAt;
+            this.version = version;
+            this.baseLive = baseLive;
+            this.appended = appended;
+            this.appendedSnapshot = appendedSnapshot;
+        }
+
+        /*
+         * A removal stamps its version before publishing the roster that has it, so an older roster reads either 0 or
+         * a version above its own.
+         */
+        boolean isLive(int index) {
+            if (removedAt == null) {
+                return true;
+            }
+            long removed = removedAt.get(index);
+            return removed == 0 || removed > version;
+        }
+
+        @Override
+        public MockEmployee get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            if (index >= baseLive) {
+                return appendedSnapshot.get(index - baseLive);
+            }
+            if (removedAt == null) {
+                return base.employee(index);
+            }
+            int remaining = index;
+            for (int i = 0; ; i++) {
+                if (isLive(i) && remaining-- == 0) {
+                    return base.employee(i);
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return baseLive + appendedSnapshot.size();
+        }
+
+        @Override
+        public Iterator<MockEmployee> iterator() {
+            return new Iterator<>() {
+
+                private int next = advance(0);
+                private final Iterator<MockEmployee> rest = appendedSnapshot.iterator();
+
+                @Override
+                public boolean hasNext() {
+                    return next < base.count() || rest.hasNext();
+                }
+
+                @Override
+                public MockEmployee next() {
+                    if (next >= base.count()) {
+                        return rest.next();
+                    }
+                    MockEmployee employee = base.employee(next);
+                    next = advance(next + 1);
+                    return employee;
+                }
+            };
+        }
+
+        private int advance(int from) {
+            int i = from;
+            while (i < base.count() && !isLive(i)) {
+                i++;
+            }
+            return i;
+        }
+    }
+}
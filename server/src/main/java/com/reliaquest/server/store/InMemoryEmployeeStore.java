@@ -0,0 +1,331 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link EmployeeStore} kept in memory.
+ *
+ * <p>Writers are serialised by a lock; readers take none. Employees are appended to a shared array of entries, and
+ * every write publishes a new versioned {@link Snapshot} of it. Removal only stamps the entry with the version that
+ * removed it, and a snapshot skips entries removed at or before its own version, so snapshots already handed out never
+ * change and neither appends nor removals copy the array. It is compacted once removed entries outnumber live ones,
+ * which keeps both operations O(1) amortised.
+ *
+ * <p>By-id reads go through a {@link UuidIndex}, which allows lock-free readers. Removals find their employee through
+ * a multimap from case-folded name to entries in insertion order; it is only used under the lock, so it is a plain
+ * map, holding either a single entry or a queue of them.
+ */
+public class InMemoryEmployeeStore implements EmployeeStore {
+
+    private static final long LIVE = Long.MAX_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    /*
+     * Typical sizes with compressed references, headers included and padded to 8 bytes: the entry and the employee
+     * with its UUID and two Integers, the name multimap's node, and a string apart from its characters.
+     */
+    private static final int REFERENCE_BYTES = 4;
+    private static final int EMPLOYEE_BYTES = 24 + 40 + 32 + 2 * 16;
+    private static final int NAME_NODE_BYTES = 32;
+    private static final int STRING_BYTES = 24 + 16;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final UuidIndex<MockEmployee> byId = new UuidIndex<>();
+    private final Map<String, Object> byName = new HashMap<>();
+    private int duplicateIds;
+    private volatile long employeeBytes;
+
+    private volatile Snapshot snapshot = new Snapshot(new Entry[MIN_CAPACITY], 0, 0, 0);
+
+    public InMemoryEmployeeStore(List<MockEmployee> employees) {
+        employees.forEach(this::add);
+    }
+
+    @Override
+    public List<MockEmployee> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Entries the store holds, including removed ones awaiting compaction; what its memory use grows with.
+     */
+    public int slots() {
+        return snapshot.entries.length;
+    }
+
+    /**
+     * Rough heap footprint of the store, from typical object sizes rather than a measurement. Removed employees stop
+     * counting at once, though they are only released at the next compaction.
+     */
+    public long estimatedBytes() {
+        return (long) snapshot.entries.length * REFERENCE_BYTES + byId.bytes() + employeeBytes;
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    @Override
+    public void add(MockEmployee employee) {
+        addAll(List.of(employee));
+    }
+
+    /**
+     * Adds the employees in order and publishes them together, which is much cheaper than one at a time.
+     */
+    void addAll(Collection<MockEmployee> employees) {
+        writeLock.lock();
+        try {
+            Snapshot current = snapshot;
+            Entry[] entries = current.entries;
+            int end = current.end;
+            if (end + employees.size() > entries.length) {
+                entries = compact(current, Math.max(MIN_CAPACITY, (current.size + employees.size()) * 2));
+                end = current.size;
+            }
+            byId.reserve(employees.size());
+            long addedBytes = 0;
+            for (MockEmployee employee : employees) {
+                addedBytes += estimateBytes(employee);
+                Entry entry = new Entry(employee);
+                entries[end++] = entry;
+                if (employee.getId() != null && !byId.putIfAbsent(employee.getId(), employee)) {
+                    duplicateIds++;
+                }
+                if (employee.getName() != null) {
+                    byName.merge(fold(employee.getName()), entry, InMemoryEmployeeStore::append);
+                }
+            }
+            employeeBytes += addedBytes;
+            snapshot = new Snapshot(entries, end, current.version + 1, current.size + employees.size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeFirstByName(String name) {
+        writeLock.lock();
+        try {
+            String key = fold(name);
+            Object named = byName.get(key);
+            if (named == null) {
+                return Optional.empty();
+            }
+            Entry removed;
+            if (named instanceof Entry only) {
+                removed = only;
+                byName.remove(key);
+            } else {
+                @SuppressWarnings("unchecked")
+                ArrayDeque<Entry> queue = (ArrayDeque<Entry>) named;
+                removed = queue.pollFirst();
+                if (queue.size() == 1) {
+                    byName.put(key, queue.pollFirst());
+                }
+            }
+
+            Snapshot current = snapshot;
+            long version = current.version + 1;
+            removed.removedAt = version;
+            Snapshot next = new Snapshot(current.entries, current.end, version, current.size - 1);
+            if (next.end - next.size > Math.max(MIN_CAPACITY, next.size)) {
+                next = new Snapshot(
+                        compact(next, Math.max(MIN_CAPACITY, next.size * 2)), next.size, version, next.size);
+            }
+            snapshot = next;
+
+            MockEmployee employee = removed.employee;
+            employeeBytes -= estimateBytes(employee);
+            if (employee.getId() != null) {
+                byId.remove(employee.getId(), employee);
+                if (duplicateIds > 0) {
+                    exposeNextWithId(next, employee.getId());
+                }
+            }
+            return Optional.of(employee);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Folds case the way {@link String#equalsIgnoreCase} compares, so two names fold to the same key exactly when they
+     * are equal ignoring case.
+     */
+    static String fold(String name) {
+        if (name.chars().allMatch(c -> c < 0x80)) {
+            return name.toLowerCase(Locale.ROOT);
+        }
+        StringBuilder folded = new StringBuilder(name.length());
+        name.codePoints()
+                .map(codePoint -> Character.toLowerCase(Character.toUpperCase(codePoint)))
+                .forEach(folded::appendCodePoint);
+        return folded.toString();
+    }
+
+    /*
+     * Strings are counted at a byte per character, as names of ASCII characters are stored; a name is held twice, as
+     * itself and folded as a multimap key.
+     */
+    private static long estimateBytes(MockEmployee employee) {
+        long bytes = EMPLOYEE_BYTES + estimateBytes(employee.getTitle()) + estimateBytes(employee.getEmail());
+        if (employee.getName() != null) {
+            bytes += 2 * estimateBytes(employee.getName()) + NAME_NODE_BYTES;
+        }
+        return bytes;
+    }
+
+    private static long estimateBytes(String value) {
+        return value == null ? 0 : STRING_BYTES + ((value.length() + 7) & ~7);
+    }
+
+    /*
+     * Most names are unique, so a name maps straight to its entry, and only to a queue once it is shared.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object append(Object existing, Object entry) {
+        if (existing instanceof Entry first) {
+            ArrayDeque<Entry> queue = new ArrayDeque<>(4);
+            queue.addLast(first);
+            queue.addLast((Entry) entry);
+            return queue;
+        }
+        ((ArrayDeque<Entry>) existing).addLast((Entry) entry);
+        return existing;
+    }
+
+    /*
+     * Copies the entries live in the snapshot to the front of a new array.
+     */
+    private static Entry[] compact(Snapshot snapshot, int capacity) {
+        Entry[] compacted = new Entry[capacity];
+        int size = 0;
+        for (int i = 0; i < snapshot.end; i++) {
+            if (snapshot.entries[i].removedAt == LIVE) {
+                compacted[size++] = snapshot.entries[i];
+            }
+        }
+        return compacted;
+    }
+
+    /*
+     * Only employees sharing an id with an earlier one are missing from the id index, so this scan is skipped unless
+     * such a duplicate was ever added.
+     */
+    private void exposeNextWithId(Snapshot snapshot, UUID id) {
+        for (MockEmployee employee : snapshot) {
+            if (id.equals(employee.getId())) {
+                byId.putIfAbsent(id, employee);
+                return;
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        final MockEmployee employee;
+
+        /*
+         * Written under the lock before the snapshot that removes the entry is published. A reader holding an older
+         * snapshot sees either value, and both are above its own version.
+         */
+        volatile long removedAt = LIVE;
+
+        Entry(MockEmployee employee) {
+            this.employee = employee;
+        }
+    }
+
+    /**
+     * The entries below {@code end} that were not yet removed at {@code version}. The array only ever changes beyond
+     * {@code end}. Iteration is sequential; {@link #get} is a scan, which serialisers and callers avoid.
+     */
+    private static final class Snapshot extends AbstractList<MockEmployee> {
+
+        private final Entry[] entries;
+        private final int end;
+        private final long version;
+        private final int size;
+
+        Snapshot(Entry[] entries, int end, long version, int size) {
+            this.entries = entries;
+            this.end = end;
+            this.version = version;
+            this.size = size;
+        }
+
+        @Override
+        public MockEmployee get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int remaining = index;
+            for (MockEmployee employee : this) {
+                if (remaining-- == 0) {
+                    return employee;
+                }
+            }
+            throw new IllegalStateException("Snapshot shorter than its size");
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<MockEmployee> iterator() {
+            return new Iterator<>() {
+
+                private int next = advance(0);
+
+                @Override
+                public boolean hasNext() {
+                    return next < end;
+                }
+
+                @Override
+                public MockEmployee next() {
+                    if (next >= end) {
+                        throw new NoSuchElementException();
+                    }
+                    MockEmployee employee = entries[next].employee;
+                    next = advance(next + 1);
+                    return employee;
+                }
+            };
+        }
+
+        private int advance(int from) {
+            int i = from;
+            while (i < end && entries[i].removedAt <= version) {
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] array = new Object[size];
+            int i = 0;
+            for (MockEmployee employee : this) {
+                array[i++] = employee;
+            }
+            return array;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.IntPredicate;
+
+/**
+ * A roster snapshot file, read through a memory mapping without decoding it up front.
+ *
+ * <p>After a header come the employees, encoded by {@link EmployeeRecords}, then the offset of each, then two
+ * open-addressing hash tables built when the file is written: one from id to employee, and one from case-folded name,
+ * kept with its hash, to employee. Both are probed linearly and hold every employee with an id or a name, duplicates
+ * included, in roster order, so the first match a probe meets is the earliest employee. Opening a snapshot therefore
+ * costs the same whatever its size, and a read only decodes the employees it returns. The file is never modified.
+ */
+final class MappedSnapshot {
+
+    private static final int MAGIC = 0x4D4F434B;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+    private static final int TABLES_AT_POSITION = 20;
+    private static final int EMPTY = -1;
+
+    private final MappedByteBuffer buffer;
+    private final long generation;
+    private final int count;
+    private final int offsetsAt;
+    private final int idTableAt;
+    private final int idMask;
+    private final int nameTableAt;
+    private final int nameMask;
+
+    private MappedSnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.generation = buffer.getLong(8);
+        this.count = buffer.getInt(16);
+        this.offsetsAt = buffer.getInt(TABLES_AT_POSITION);
+        int idSlots = buffer.getInt(24);
+        int nameSlots = buffer.getInt(28);
+        this.idTableAt = offsetsAt + count * 4;
+        this.idMask = idSlots - 1;
+        this.nameTableAt = idTableAt + idSlots * 4;
+        this.nameMask = nameSlots - 1;
+    }
+
+    /**
+     * Maps the snapshot; the mapping outlives the channel, and is released once this object is unreachable.
+     */
+    static MappedSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + file + " is too large to map");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unrecognised snapshot " + file);
+            }
+            MappedSnapshot snapshot = new MappedSnapshot(buffer);
+            if ((long) snapshot.nameTableAt + (snapshot.nameMask + 1) * 8L != size) {
+                throw new IOException("Truncated snapshot " + file);
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Writes the employees to a temporary file and moves it into place, so a crash leaves either the old or the new
+     * snapshot.
+     */
+    static void write(Path file, long generation, Collection<MockEmployee> employees) throws IOException {
+        int count = employees.size();
+        int[] offsets = new int[count];
+        int[] idTable = emptyTable(count, 1);
+        int[] nameTable = emptyTable(count, 2);
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(
+                temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(generation);
+            out.writeInt(count);
+            out.writeInt(0);
+            out.writeInt(idTable.length);
+            out.writeInt(nameTable.length / 2);
+
+            int index = 0;
+            for (MockEmployee employee : employees) {
+                offsets[index] = out.size();
+                EmployeeRecords.write(out, employee);
+                UUID id = employee.getId();
+                if (id != null) {
+                    int mask = idTable.length - 1;
+                    int slot = UuidIndex.slot(id.getMostSignificantBits(), id.getLeastSignificantBits(), mask);
+                    while (idTable[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    idTable[slot] = index;
+                }
+                if (employee.getName() != null) {
+                    int hash = nameHash(employee.getName());
+                    int mask = nameTable.length / 2 - 1;
+                    int slot = hash & mask;
+                    while (nameTable[slot * 2 + 1] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    nameTable[slot * 2] = hash;
+                    nameTable[slot * 2 + 1] = index;
+                }
+                index++;
+            }
+            if (index != count) {
+                throw new IllegalStateException("Roster changed while it was written");
+            }
+
+            int tablesAt = out.size();
+            for (int offset : offsets) {
+                out.writeInt(offset);
+            }
+            for (int entry : idTable) {
+                out.writeInt(entry);
+            }
+            for (int entry : nameTable) {
+                out.writeInt(entry);
+            }
+            out.flush();
+            if (out.size() < 0) {
+                throw new IOException("Snapshot of " + count + " employees is too large to map");
+            }
+            ByteBuffer tablesAtField = ByteBuffer.allocate(4).putInt(tablesAt).flip();
+            while (tablesAtField.hasRemaining()) {
+                channel.write(tablesAtField, TABLES_AT_POSITION + tablesAtField.position());
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /**
+     * Size of the mapping.
+     */
+    long bytes() {
+        return buffer.capacity();
+    }
+
+    MockEmployee employee(int index) {
+        return EmployeeRecords.readAt(buffer, offset(index));
+    }
+
+    /**
+     * @return the earliest employee with this id that {@code live} accepts, or -1
+     */
+    int firstWithId(UUID id, IntPredicate live) {
+        long idHigh = id.getMostSignificantBits();
+        long idLow = id.getLeastSignificantBits();
+        for (int slot = UuidIndex.slot(idHigh, idLow, idMask); ; slot = (slot + 1) & idMask) {
+            int index = buffer.getInt(idTableAt + slot * 4);
+            if (index == EMPTY) {
+                return EMPTY;
+            }
+            if (EmployeeRecords.hasIdAt(buffer, offset(index), idHigh, idLow) && live.test(index)) {
+                return index;
+            }
+        }
+    }
+
+    /**
+     * @return the earliest employee whose name matches ignoring case that {@code live} accepts, or -1
+     */
+    int firstNamed(String name, IntPredicate live) {
+        String folded = InMemoryEmployeeStore.fold(name);
+        int hash = folded.hashCode();
+        for (int slot = hash & nameMask; ; slot = (slot + 1) & nameMask) {
+            int entryAt = nameTableAt + slot * 8;
+            int index = buffer.getInt(entryAt + 4);
+            if (index == EMPTY) {
+                return EMPTY;
+            }
+            if (buffer.getInt(entryAt) == hash
+                    && live.test(index)
+                    && folded.equals(InMemoryEmployeeStore.fold(EmployeeRecords.nameAt(buffer, offset(index))))) {
+                return index;
+            }
+        }
+    }
+
+    private int offset(int index) {
+        return buffer.getInt(offsetsAt + index * 4);
+    }
+
+    private static int nameHash(String name) {
+        return InMemoryEmployeeStore.fold(name).hashCode();
+    }
+
+    /*
+     * At least twice as many slots as employees, so probe runs stay short.
+     */
+    private static int[] emptyTable(int count, int intsPerSlot) {
+        int slots = 16;
+        while (slots < count * 2L) {
+            slots <<= 1;
+        }
+        int[] table = new int[slots * intsPerSlot];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+}
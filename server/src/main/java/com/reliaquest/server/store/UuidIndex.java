@@ -0,0 +1,166 @@
+package com.reliaquest.server.store;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash table keyed on the two {@code long} halves of a {@link UUID}.
+ *
+ * <p>Keys live in parallel primitive arrays and are probed linearly, so a lookup neither boxes nor allocates. Writes
+ * must be serialised by the caller, but {@link #get} needs no lock: a slot's keys are written before its value is
+ * published with release semantics and never change afterwards. Removals therefore leave a tombstone instead of
+ * moving entries, and tombstones are only reclaimed by rehashing into a fresh table, which is then published whole.
+ */
+final class UuidIndex<V> {
+
+    private static final Object REMOVED = new Object();
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private volatile Table table = new Table(16);
+
+    /**
+     * Bytes held by the table's arrays, with references counted as compressed.
+     */
+    long bytes() {
+        return (long) table.values.length * (2 * Long.BYTES + Integer.BYTES);
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(UUID id) {
+        long idHigh = id.getMostSignificantBits();
+        long idLow = id.getLeastSignificantBits();
+        Table current = table;
+        int mask = current.values.length - 1;
+        for (int slot = slot(idHigh, idLow, mask); ; slot = (slot + 1) & mask) {
+            Object value = VALUES.getAcquire(current.values, slot);
+            if (value == null) {
+                return null;
+            }
+            if (value != REMOVED && current.low[slot] == idLow && current.high[slot] == idHigh) {
+                return (V) value;
+            }
+        }
+    }
+
+    /**
+     * Keeps the existing value when the id is already indexed, so the first entry with an id wins.
+     *
+     * @return whether the value was indexed
+     */
+    boolean putIfAbsent(UUID id, V value) {
+        Table current = table;
+        if (current.used + 1 > current.values.length / 2) {
+            current = rehash(current, current.size + 1);
+        }
+        long idHigh = id.getMostSignificantBits();
+        long idLow = id.getLeastSignificantBits();
+        int slot = current.find(idHigh, idLow);
+        if (current.values[slot] != null) {
+            return false;
+        }
+        current.high[slot] = idHigh;
+        current.low[slot] = idLow;
+        VALUES.setRelease(current.values, slot, value);
+        current.used++;
+        current.size++;
+        return true;
+    }
+
+    /**
+     * Sizes the table for {@code additional} more entries up front, so a bulk load rehashes at most once.
+     */
+    void reserve(int additional) {
+        Table current = table;
+        if (current.used + additional > current.values.length / 2) {
+            rehash(current, current.size + additional);
+        }
+    }
+
+    /**
+     * Unindexes the id if it currently maps to {@code value}.
+     */
+    void remove(UUID id, V value) {
+        Table current = table;
+        int slot = current.find(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (current.values[slot] == value) {
+            VALUES.setRelease(current.values, slot, REMOVED);
+            current.size--;
+        }
+    }
+
+    /**
+     * Slots in the current table, live, removed and free; what its memory use grows with.
+     */
+    int capacity() {
+        return table.values.length;
+    }
+
+    /*
+     * Copies the live entries into a table sized for them; readers still probing the old table see it unchanged.
+     */
+    private Table rehash(Table old, int expectedSize) {
+        int capacity = 16;
+        while (capacity < expectedSize * 4L) {
+            capacity <<= 1;
+        }
+        Table rehashed = new Table(capacity);
+        for (int i = 0; i < old.values.length; i++) {
+            Object value = old.values[i];
+            if (value != null && value != REMOVED) {
+                int slot = rehashed.find(old.high[i], old.low[i]);
+                rehashed.high[slot] = old.high[i];
+                rehashed.low[slot] = old.low[i];
+                rehashed.values[slot] = value;
+                rehashed.used++;
+                rehashed.size++;
+            }
+        }
+        table = rehashed;
+        return rehashed;
+    }
+
+    /**
+     * Home slot of an id in a table of {@code mask + 1} slots. Both halves are mixed with the murmur3 finaliser, since
+     * time-based UUIDs share most of their high bits.
+     */
+    static int slot(long idHigh, long idLow, int mask) {
+        long h = idHigh * 0x9E3779B97F4A7C15L ^ idLow;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static final class Table {
+
+        final long[] high;
+        final long[] low;
+        final Object[] values;
+        int used;
+        int size;
+
+        Table(int capacity) {
+            high = new long[capacity];
+            low = new long[capacity];
+            values = new Object[capacity];
+        }
+
+        /**
+         * Slot holding the live entry for this id, or else the empty slot ending its probe run.
+         */
+        int find(long idHigh, long idLow) {
+            int mask = values.length - 1;
+            int slot = slot(idHigh, idLow, mask);
+            while (values[slot] != null) {
+                if (values[slot] != REMOVED && low[slot] == idLow && high[slot] == idHigh) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
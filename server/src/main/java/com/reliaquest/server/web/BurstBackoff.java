@@ -0,0 +1,58 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The mock's original policy: a client may make {@code limit} requests, and once it has, is rejected until
+ * {@code backoff} has passed since the last request admitted. A client that stays quiet for the backoff also starts
+ * over.
+ *
+ * <p>The state packs the count into its upper 16 bits, which bounds the limit to 65535, and the time of the last
+ * admitted request, in milliseconds, into the remaining 48 bits.
+ */
+public final class BurstBackoff implements RateLimitAlgorithm {
+
+    public static final int MAX_LIMIT = 0xFFFF;
+    private static final long TIME_MASK = (1L << 48) - 1;
+
+    private final int limit;
+    private final long backoffMillis;
+
+    public BurstBackoff(int limit, Duration backoff) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be within [1, " + MAX_LIMIT + "]: " + limit);
+        }
+        this.limit = limit;
+        this.backoffMillis = backoff.toMillis();
+    }
+
+    @Override
+    public long tryAcquire(AtomicLong state, long now) {
+        long nowMillis = now / 1_000_000;
+        while (true) {
+            long packed = state.get();
+            long lastAdmitted = packed & TIME_MASK;
+            int count = nowMillis - lastAdmitted >= backoffMillis ? 0 : (int) (packed >>> 48);
+            if (count >= limit) {
+                return RateLimitAlgorithm.rejected((lastAdmitted + backoffMillis) * 1_000_000 - now);
+            }
+            if (state.compareAndSet(packed, ((long) (count + 1) << 48) | nowMillis)) {
+                return limit - count - 1;
+            }
+        }
+    }
+
+    @Override
+    public long resetNanos(long state, long now) {
+        if (state == 0) {
+            return 0;
+        }
+        return Math.max(0, ((state & TIME_MASK) + backoffMillis) * 1_000_000 - now);
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+}
@@ -0,0 +1,269 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Injects the faults of the first {@link FaultRule} matching a request: latency, a random 5xx, a connection dropped
+ * mid-response or a body trickled out slowly.
+ *
+ * <p>Nothing here holds a thread while it waits. A delayed request is put into async mode and dispatched again from a
+ * scheduler once its delay is over. A slow body is handled in full, buffered, and then written a chunk per tick with
+ * non-blocking output, so a client that stops reading leaves its chunk pending instead of blocking the scheduler
+ * shared by every delayed and dripped response. Requests to {@code /admin} and {@code /actuator} are never faulted, so
+ * the rules can always be changed and the metrics read.
+ */
+@Slf4j
+public class FaultInjectionFilter implements Filter {
+
+    private static final String FAULT_ATTRIBUTE = FaultInjectionFilter.class.getName() + ".fault";
+    private static final int[] ERROR_STATUSES = {500, 502, 503, 504};
+
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "fault-injection");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder[] injected = {new LongAdder(), new LongAdder(), new LongAdder(), new LongAdder()};
+
+    private volatile List<CompiledRule> rules = List.of();
+
+    public FaultInjectionFilter(ObjectMapper objectMapper, List<FaultRule> rules) {
+        this.objectMapper = objectMapper;
+        setRules(rules);
+    }
+
+    public List<FaultRule> getRules() {
+        return rules.stream().map(CompiledRule::rule).toList();
+    }
+
+    public void setRules(List<FaultRule> rules) {
+        this.rules = rules.stream()
+                .map(rule -> new CompiledRule(rule, PathPatternParser.defaultInstance.parse(rule.path())))
+                .toList();
+        log.info("Injecting faults with {} rules", rules.size());
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        if (request.getDispatcherType() == DispatcherType.ASYNC
+                && request.getAttribute(FAULT_ATTRIBUTE) instanceof Fault delayed) {
+            request.removeAttribute(FAULT_ATTRIBUTE);
+            inject(delayed, request, response, chain);
+            return;
+        }
+        Fault fault = request.getDispatcherType() == DispatcherType.REQUEST ? sample(request) : null;
+        if (fault == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (fault.delayNanos() > 0) {
+            delayed.increment();
+            request.setAttribute(FAULT_ATTRIBUTE, fault);
+            AsyncContext async = request.startAsync();
+            async.setTimeout(0);
+            scheduler.schedule(() -> async.dispatch(), fault.delayNanos(), TimeUnit.NANOSECONDS);
+            return;
+        }
+        inject(fault, request, response, chain);
+    }
+
+    public long delayedRequests() {
+        return delayed.sum();
+    }
+
+    public long injectedErrors() {
+        return injected[Action.ERROR.ordinal()].sum();
+    }
+
+    public long droppedConnections() {
+        return injected[Action.RESET.ordinal()].sum();
+    }
+
+    public long drippedResponses() {
+        return injected[Action.DRIP.ordinal()].sum();
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private Fault sample(HttpServletRequest request) {
+        List<CompiledRule> current = rules;
+        if (current.isEmpty()) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.startsWith("/admin/") || path.startsWith("/actuator/")) {
+            return null;
+        }
+        PathContainer pathContainer = PathContainer.parsePath(path);
+        for (CompiledRule compiled : current) {
+            FaultRule rule = compiled.rule();
+            if ((rule.method() == null || rule.method().equals(request.getMethod()))
+                    && compiled.pattern().matches(pathContainer)) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long delayNanos = rule.latency() == null ? 0 : rule.latency().sampleNanos(random);
+                double draw = random.nextDouble();
+                Action action = draw < rule.errorRate()
+                        ? Action.ERROR
+                        : draw < rule.errorRate() + rule.resetRate()
+                                ? Action.RESET
+                                : draw < rule.errorRate() + rule.resetRate() + rule.dripRate()
+                                        ? Action.DRIP
+                                        : Action.NONE;
+                return new Fault(rule, delayNanos, action);
+            }
+        }
+        return null;
+    }
+
+    private void inject(Fault fault, HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (fault.action() != Action.NONE) {
+            injected[fault.action().ordinal()].increment();
+        }
+        switch (fault.action()) {
+            case NONE -> chain.doFilter(request, response);
+            case ERROR -> {
+                int status = ERROR_STATUSES[ThreadLocalRandom.current().nextInt(ERROR_STATUSES.length)];
+                log.debug("Injecting {} into {} {}", status, request.getMethod(), request.getRequestURI());
+                response.setStatus(status);
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), Response.error("Injected fault"));
+            }
+            case RESET -> {
+                // Announces more than is sent and closes the connection, so the client sees the stream end early.
+                log.debug("Dropping the connection of {} {}", request.getMethod(), request.getRequestURI());
+                response.setHeader("Connection", "close");
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setContentLength(1024);
+                response.getOutputStream().write('{');
+                response.flushBuffer();
+            }
+            case DRIP -> drip(fault.rule(), request, response, chain);
+        }
+    }
+
+    private void drip(FaultRule rule, HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, buffered);
+        byte[] body = buffered.getContentAsByteArray();
+        log.debug("Dripping {} bytes of {} {}", body.length, request.getMethod(), request.getRequestURI());
+        response.setContentLength(body.length);
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(0);
+        response.getOutputStream().setWriteListener(new Drip(rule, body, response.getOutputStream(), async));
+    }
+
+    /**
+     * Writes a chunk once it is due and the client can take it, whichever comes last: the scheduler makes chunks due,
+     * and the container reports when a client that had fallen behind can take more. Neither ever waits on the client.
+     */
+    private final class Drip implements WriteListener {
+
+        private final FaultRule rule;
+        private final byte[] body;
+        private final ServletOutputStream out;
+        private final AsyncContext async;
+        private int written;
+        private boolean due = true;
+        private boolean done;
+
+        Drip(FaultRule rule, byte[] body, ServletOutputStream out, AsyncContext async) {
+            this.rule = rule;
+            this.body = body;
+            this.out = out;
+            this.async = async;
+        }
+
+        @Override
+        public synchronized void onWritePossible() throws IOException {
+            writeIfDue();
+        }
+
+        @Override
+        public synchronized void onError(Throwable error) {
+            log.debug("Client went away while dripping", error);
+            finish();
+        }
+
+        private synchronized void tick() {
+            due = true;
+            try {
+                writeIfDue();
+            } catch (IOException | RuntimeException e) {
+                onError(e);
+            }
+        }
+
+        private void writeIfDue() throws IOException {
+            if (done || !due || !out.isReady()) {
+                return;
+            }
+            int length = Math.min(rule.dripChunkBytes(), body.length - written);
+            out.write(body, written, length);
+            written += length;
+            due = false;
+            if (written == body.length) {
+                finish();
+                return;
+            }
+            if (out.isReady()) {
+                out.flush();
+            }
+            scheduler.schedule(this::tick, rule.dripInterval().toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        private void finish() {
+            if (!done) {
+                done = true;
+                async.complete();
+            }
+        }
+    }
+
+    private enum Action {
+        NONE,
+        ERROR,
+        RESET,
+        DRIP
+    }
+
+    private record CompiledRule(FaultRule rule, PathPattern pattern) {}
+
+    private record Fault(FaultRule rule, long delayNanos, Action action) {}
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * Faults injected into the requests to one endpoint. Bound from {@code mock.faults.rules} on start and exchanged as
+ * JSON by {@code /admin/faults}, where durations are ISO-8601 (e.g. {@code "PT0.25S"}).
+ *
+ * @param method HTTP method to match, or {@code null} for any
+ * @param path path pattern to match, e.g. {@code /api/v1/employee/{id}}
+ * @param latency delay before the request is handled, or {@code null} for none
+ * @param errorRate share of requests answered with a random 5xx instead of being handled
+ * @param resetRate share of requests whose connection is dropped in the middle of the response
+ * @param dripRate share of responses whose body is trickled out {@code dripChunkBytes} every {@code dripInterval}
+ */
+public record FaultRule(
+        String method,
+        String path,
+        Latency latency,
+        double errorRate,
+        double resetRate,
+        double dripRate,
+        int dripChunkBytes,
+        Duration dripInterval) {
+
+    public FaultRule {
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("A fault rule needs a path");
+        }
+        if (errorRate < 0 || resetRate < 0 || dripRate < 0 || errorRate + resetRate + dripRate > 1) {
+            throw new IllegalArgumentException("Fault rates must be non-negative and add up to at most 1");
+        }
+        method = method == null ? null : method.toUpperCase(Locale.ROOT);
+        dripChunkBytes = dripChunkBytes > 0 ? dripChunkBytes : 64;
+        dripInterval = dripInterval != null ? dripInterval : Duration.ofMillis(100);
+    }
+
+    public enum Distribution {
+        /** Always {@code min}. */
+        FIXED,
+        /** Evenly between {@code min} and {@code max}. */
+        UNIFORM,
+        /**
+         * Pareto with scale {@code min} and the given {@code shape}, capped at {@code max}: mostly close to {@code min}
+         * with a long tail; the smaller the shape, the heavier the tail.
+         */
+        PARETO
+    }
+
+    /**
+     * @param max upper bound; for {@link Distribution#PARETO} defaults to a hundred times {@code min}
+     * @param shape tail index of {@link Distribution#PARETO}, 1.5 unless positive
+     */
+    public record Latency(Distribution distribution, Duration min, Duration max, double shape) {
+
+        public Latency {
+            if (distribution == null || min == null || min.isNegative()) {
+                throw new IllegalArgumentException("Latency needs a distribution and a non-negative min");
+            }
+            max = max != null ? max : distribution == Distribution.PARETO ? min.multipliedBy(100) : min;
+            if (max.compareTo(min) < 0) {
+                throw new IllegalArgumentException("Latency max " + max + " is below min " + min);
+            }
+            shape = shape > 0 ? shape : 1.5;
+        }
+
+        long sampleNanos(RandomGenerator random) {
+            long minNanos = min.toNanos();
+            long maxNanos = max.toNanos();
+            return switch (distribution) {
+                case FIXED -> minNanos;
+                case UNIFORM -> minNanos == maxNanos ? minNanos : random.nextLong(minNanos, maxNanos + 1);
+                case PARETO -> (long) Math.min(maxNanos, minNanos / Math.pow(1 - random.nextDouble(), 1 / shape));
+            };
+        }
+    }
+}
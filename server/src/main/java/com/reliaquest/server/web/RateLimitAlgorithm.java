@@ -0,0 +1,36 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission rule of the {@link RateLimitInterceptor}, applied to one client's state.
+ *
+ * <p>A client's whole state is packed into a single {@code long}, so admission is one compare-and-set that neither
+ * locks nor allocates. A state of zero is a client that has not made any request. Times are in nanoseconds since the
+ * interceptor started.
+ */
+public interface RateLimitAlgorithm {
+
+    /**
+     * Admits a request if the client's quota allows it.
+     *
+     * @return the requests left after this one when admitted, or else the negated nanoseconds until a request would be
+     *     admitted, which is at most {@code -1}
+     */
+    long tryAcquire(AtomicLong state, long now);
+
+    /**
+     * @return nanoseconds until a client in this state has its full quota again; zero once it does, when the client can
+     *     be forgotten without changing any outcome
+     */
+    long resetNanos(long state, long now);
+
+    /**
+     * @return the requests a client with its full quota may make at once
+     */
+    int limit();
+
+    static long rejected(long retryNanos) {
+        return -Math.max(1, retryNanos);
+    }
+}
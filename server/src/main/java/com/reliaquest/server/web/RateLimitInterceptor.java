@@ -0,0 +1,168 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Limits each client separately with a {@link RateLimitAlgorithm}, answering 429 with a {@code Retry-After} once its
+ * quota is spent. Every response carries the client's quota in {@code X-RateLimit-Limit},
+ * {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset}, the seconds until it is full again.
+ *
+ * <p>Clients are told apart by a request header when one is configured and present, and otherwise by their remote
+ * address. Their state is kept for at most {@code maxClients} clients: when a new client would exceed that, clients
+ * with their full quota are forgotten first, which changes nothing, and then arbitrary ones, which gives them a fresh
+ * quota.
+ */
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int MAX_CACHED_SECONDS = 600;
+    private static final int MAX_CACHED_REMAINING = 10_000;
+
+    /*
+     * Header values for the seconds and remaining quotas that come up, so a request formats no numbers.
+     */
+    private static final String[] SECONDS_VALUES = decimals(MAX_CACHED_SECONDS);
+
+    private final RateLimitAlgorithm algorithm;
+    private final String clientHeader;
+    private final int maxClients;
+    private final LongSupplier nanoClock;
+    private final long origin;
+    private final String limitValue;
+    private final String[] remainingValues;
+    private final Map<String, AtomicLong> clients = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param clientHeader header identifying the client, or {@code null} to go by remote address only
+     */
+    public RateLimitInterceptor(RateLimitAlgorithm algorithm, String clientHeader, int maxClients) {
+        this(algorithm, clientHeader, maxClients, System::nanoTime);
+    }
+
+    RateLimitInterceptor(RateLimitAlgorithm algorithm, String clientHeader, int maxClients, LongSupplier nanoClock) {
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("maxClients must be positive: " + maxClients);
+        }
+        this.algorithm = algorithm;
+        this.clientHeader = clientHeader;
+        this.maxClients = maxClients;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+        this.limitValue = Integer.toString(algorithm.limit());
+        this.remainingValues = decimals(Math.min(algorithm.limit(), MAX_CACHED_REMAINING));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String client = clientOf(request);
+        AtomicLong state = clients.get(client);
+        long now = nanoClock.getAsLong() - origin;
+        if (state == null) {
+            state = register(client, now);
+        }
+        long outcome = algorithm.tryAcquire(state, now);
+
+        response.setHeader(LIMIT_HEADER, limitValue);
+        response.setHeader(RESET_HEADER, decimal(SECONDS_VALUES, seconds(algorithm.resetNanos(state.get(), now))));
+        if (outcome >= 0) {
+            admitted.increment();
+            response.setHeader(REMAINING_HEADER, decimal(remainingValues, outcome));
+            return true;
+        }
+        rejected.increment();
+        log.debug("Rate limited client {}", client);
+        response.setHeader(REMAINING_HEADER, remainingValues[0]);
+        response.setHeader(HttpHeaders.RETRY_AFTER, decimal(SECONDS_VALUES, seconds(-outcome)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        return false;
+    }
+
+    public long admitted() {
+        return admitted.sum();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    public int trackedClients() {
+        return clients.size();
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        if (clientHeader != null) {
+            String client = request.getHeader(clientHeader);
+            if (client != null && !client.isEmpty()) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private AtomicLong register(String client, long now) {
+        if (clients.size() >= maxClients) {
+            evict(now);
+        }
+        return clients.computeIfAbsent(client, ignored -> new AtomicLong());
+    }
+
+    /*
+     * One thread sweeps at a time; the others go ahead meanwhile, so the bound can be overshot by the number of
+     * concurrent new clients. An arbitrary eviction frees a tenth of the capacity, so sweeps stay rare.
+     */
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            clients.values().removeIf(state -> algorithm.resetNanos(state.get(), now) == 0);
+            if (clients.size() >= maxClients) {
+                int excess = clients.size() - maxClients + Math.max(1, maxClients / 10);
+                log.warn("Tracking {} rate limited clients, forgetting {} of them", clients.size(), excess);
+                Iterator<AtomicLong> iterator = clients.values().iterator();
+                for (int i = 0; i < excess && iterator.hasNext(); i++) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static String[] decimals(int max) {
+        String[] values = new String[max + 1];
+        for (int i = 0; i <= max; i++) {
+            values[i] = Integer.toString(i);
+        }
+        return values;
+    }
+
+    private static String decimal(String[] cached, long value) {
+        return value < cached.length ? cached[(int) value] : Long.toString(value);
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+}
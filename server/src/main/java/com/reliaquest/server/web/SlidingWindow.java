@@ -0,0 +1,102 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding window of {@code window} admitting at most {@code limit} requests, approximated from fixed windows: the
+ * count of the current window plus the count of the previous one, weighted by how much of it the sliding window
+ * still overlaps.
+ *
+ * <p>The state packs the index of the current window into its upper 32 bits and the two counts into 16 bits each,
+ * which bounds the limit to 65535.
+ */
+public final class SlidingWindow implements RateLimitAlgorithm {
+
+    public static final int MAX_LIMIT = 0xFFFF;
+
+    private final int limit;
+    private final long windowNanos;
+
+    public SlidingWindow(int limit, Duration window) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be within [1, " + MAX_LIMIT + "]: " + limit);
+        }
+        if (window.toNanos() <= 0) {
+            throw new IllegalArgumentException("window must be positive: " + window);
+        }
+        this.limit = limit;
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public long tryAcquire(AtomicLong state, long now) {
+        long window = now / windowNanos;
+        double elapsed = (double) (now % windowNanos) / windowNanos;
+        while (true) {
+            long packed = state.get();
+            long current = advance(packed, window);
+            int previousCount = previousCount(current);
+            int currentCount = currentCount(current);
+            double estimate = previousCount * (1 - elapsed) + currentCount;
+            if (estimate + 1 > limit) {
+                return RateLimitAlgorithm.rejected(retryNanos(previousCount, currentCount, now, window, elapsed));
+            }
+            if (state.compareAndSet(packed, current + (1L << 16))) {
+                return (long) (limit - estimate - 1);
+            }
+        }
+    }
+
+    @Override
+    public long resetNanos(long state, long now) {
+        long window = now / windowNanos;
+        long current = advance(state, window);
+        if (currentCount(current) > 0) {
+            return (window + 2) * windowNanos - now;
+        }
+        if (previousCount(current) > 0) {
+            return (window + 1) * windowNanos - now;
+        }
+        return 0;
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+
+    /*
+     * The earliest time the estimate drops to limit - 1: later in this window as the previous count fades out, or
+     * else in the next window, once the current count has faded enough in turn.
+     */
+    private long retryNanos(int previousCount, int currentCount, long now, long window, double elapsed) {
+        if (currentCount < limit) {
+            double admittedAt = 1 - (double) (limit - 1 - currentCount) / previousCount;
+            return (long) Math.ceil((admittedAt - elapsed) * windowNanos);
+        }
+        double admittedAt = 1 - (double) (limit - 1) / currentCount;
+        return (window + 1) * windowNanos - now + (long) Math.ceil(admittedAt * windowNanos);
+    }
+
+    /*
+     * Rolls the state forward to the given window: the current count becomes the previous one after one window, and
+     * both are gone after two.
+     */
+    private static long advance(long packed, long window) {
+        int age = (int) window - (int) (packed >>> 32);
+        if (age == 0) {
+            return packed;
+        }
+        long previous = age == 1 ? currentCount(packed) : 0;
+        return (window << 32) | previous;
+    }
+
+    private static int currentCount(long packed) {
+        return (int) (packed >>> 16) & 0xFFFF;
+    }
+
+    private static int previousCount(long packed) {
+        return (int) packed & 0xFFFF;
+    }
+}
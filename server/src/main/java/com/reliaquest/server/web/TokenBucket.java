@@ -0,0 +1,53 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket holding {@code limit} tokens and refilling them steadily over {@code window}, so a client may burst up
+ * to the limit and is then paced to the average rate.
+ *
+ * <p>Implemented as the generic cell rate algorithm: the state is the theoretical arrival time at which the bucket
+ * would be full again, and a request is admitted when moving that time on by one emission interval keeps it within
+ * the bucket's capacity of now.
+ */
+public final class TokenBucket implements RateLimitAlgorithm {
+
+    private final int limit;
+    private final long emissionInterval;
+    private final long capacity;
+
+    public TokenBucket(int limit, Duration window) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        this.limit = limit;
+        this.emissionInterval = Math.max(1, window.toNanos() / limit);
+        this.capacity = emissionInterval * limit;
+    }
+
+    @Override
+    public long tryAcquire(AtomicLong state, long now) {
+        while (true) {
+            long fullAt = state.get();
+            long next = Math.max(fullAt, now) + emissionInterval;
+            long debt = next - now;
+            if (debt > capacity) {
+                return RateLimitAlgorithm.rejected(debt - capacity);
+            }
+            if (state.compareAndSet(fullAt, next)) {
+                return (capacity - debt) / emissionInterval;
+            }
+        }
+    }
+
+    @Override
+    public long resetNanos(long state, long now) {
+        return Math.max(0, state - now);
+    }
+
+    @Override
+    public int limit() {
+        return limit;
+    }
+}
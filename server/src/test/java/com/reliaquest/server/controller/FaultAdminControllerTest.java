@@ -0,0 +1,58 @@
+package com.reliaquest.server.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FaultAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/admin/faults"));
+    }
+
+    @Test
+    void replaceRules_shouldReturnRulesInEffect() throws Exception {
+        replaceRules("[{\"path\": \"/api/v1/employee\", \"errorRate\": 0.5}]")
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].path").value("/api/v1/employee"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].dripChunkBytes").value(64));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/admin/faults"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].errorRate").value(0.5));
+    }
+
+    @Test
+    void replaceRules_nullBody_shouldBeBadRequest() throws Exception {
+        replaceRules("null").andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void replaceRules_nullRule_shouldBeBadRequest() throws Exception {
+        replaceRules("[null]").andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void replaceRules_invalidRule_shouldBeBadRequest() throws Exception {
+        replaceRules("[{\"path\": \"/api/v1/employee\", \"errorRate\": 2}]")
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private ResultActions replaceRules(String body) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.put("/admin/faults")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
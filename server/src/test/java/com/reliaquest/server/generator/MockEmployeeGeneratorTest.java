@@ -0,0 +1,75 @@
+package com.reliaquest.server.generator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    @Test
+    void generate_sameSeed_shouldYieldSameRosterWhateverTheParallelism() throws Exception {
+        WorkloadProfile profile = profile(42);
+
+        List<MockEmployee> parallel = new MockEmployeeGenerator(profile).generate();
+        List<MockEmployee> sequential;
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            sequential = pool.submit(() -> new MockEmployeeGenerator(profile).generate())
+                    .get();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertAll(
+                () -> assertEquals(profile.employees(), parallel.size()),
+                () -> assertEquals(parallel, sequential),
+                () -> assertEquals(parallel, new MockEmployeeGenerator(profile).generate()));
+    }
+
+    @Test
+    void generate_otherSeed_shouldYieldOtherRoster() {
+        List<MockEmployee> first = new MockEmployeeGenerator(profile(42)).generate();
+        List<MockEmployee> second = new MockEmployeeGenerator(profile(43)).generate();
+
+        assertNotEquals(first.get(0).getId(), second.get(0).getId());
+    }
+
+    @Test
+    void generate_shouldDrawWithinProfile() {
+        WorkloadProfile profile = profile(7);
+
+        List<MockEmployee> roster = new MockEmployeeGenerator(profile).generate();
+
+        assertAll(
+                () -> assertTrue(roster.stream()
+                        .allMatch(employee -> employee.getSalary() >= profile.minSalary()
+                                && employee.getSalary() <= profile.maxSalary())),
+                () -> assertEquals(
+                        roster.size(),
+                        roster.stream().map(MockEmployee::getId).distinct().count()),
+                () -> assertTrue(
+                        roster.stream().map(MockEmployee::getName).distinct().count() < roster.size()));
+    }
+
+    /*
+     * Spans a few chunks, so that several threads take part, and pools some names so that the duplicate path is
+     * exercised too.
+     */
+    private static WorkloadProfile profile(long seed) {
+        return new WorkloadProfile(
+                seed,
+                10_000,
+                Locale.US,
+                WorkloadProfile.SalaryDistribution.LOG_NORMAL,
+                30_000,
+                500_000,
+                80_000,
+                0.5,
+                0.1,
+                20);
+    }
+}
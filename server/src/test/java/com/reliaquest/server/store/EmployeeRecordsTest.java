@@ -0,0 +1,61 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.generator.MockEmployeeGenerator;
+import com.reliaquest.server.generator.WorkloadProfile;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+
+class EmployeeRecordsTest {
+
+    @Test
+    void generatedRoster_sameSeed_shouldEncodeToSameBytesAndReadBack() throws IOException {
+        WorkloadProfile profile = new WorkloadProfile(
+                42, 5_000, Locale.US, WorkloadProfile.SalaryDistribution.UNIFORM, 1_000, 9_000, 5_000, 0, 0.2, 10);
+        List<MockEmployee> roster = new MockEmployeeGenerator(profile).generate();
+
+        byte[] encoded = encode(roster);
+
+        assertAll(
+                () -> assertArrayEquals(encoded, encode(new MockEmployeeGenerator(profile).generate())),
+                () -> assertEquals(roster, decode(encoded, roster.size())));
+    }
+
+    @Test
+    void missingValues_shouldReadBackAsMissing() throws IOException {
+        MockEmployee empty = new MockEmployee(null, null, null, null, null, null);
+        MockEmployee unicode = new MockEmployee(null, "Ánxo Ñúñez", 0, -1, "", "ánxo@x.com");
+
+        List<MockEmployee> read = decode(encode(List.of(empty, unicode)), 2);
+
+        assertEquals(List.of(empty, unicode), read);
+    }
+
+    private static byte[] encode(List<MockEmployee> employees) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (MockEmployee employee : employees) {
+            EmployeeRecords.write(out, employee);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<MockEmployee> decode(byte[] encoded, int count) {
+        ByteBuffer in = ByteBuffer.wrap(encoded);
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(EmployeeRecords.read(in));
+        }
+        assertFalse(in.hasRemaining());
+        return employees;
+    }
+}
@@ -0,0 +1,185 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileBackedEmployeeStoreTest {
+
+    private static final Duration NO_COMPACTION = Duration.ofHours(1);
+    private static final Supplier<List<MockEmployee>> NO_SEED = () -> fail("A stored roster should not be reseeded");
+
+    @TempDir
+    private Path directory;
+
+    @TempDir
+    private Path crashed;
+
+    @Test
+    void reopen_afterClose_shouldServeSameRosterWithoutSeeding() throws IOException {
+        MockEmployee added = employee("Added");
+        List<MockEmployee> expected;
+        try (FileBackedEmployeeStore store = open(directory, () -> List.of(employee("Mary"), employee("Jo")))) {
+            store.add(added);
+            store.removeFirstByName("MARY");
+            expected = List.copyOf(store.snapshot());
+        }
+
+        try (FileBackedEmployeeStore reopened = open(directory, NO_SEED)) {
+            assertAll(
+                    () -> assertEquals(expected, List.copyOf(reopened.snapshot())),
+                    () -> assertEquals(added, reopened.findById(added.getId()).orElseThrow()));
+        }
+    }
+
+    @Test
+    void removeFirstByName_fromSnapshot_shouldLeaveEarlierListsAndExposeLaterDuplicate() throws IOException {
+        MockEmployee mary = employee("Mary");
+        MockEmployee jo = employee("Jo");
+        MockEmployee sameId = new MockEmployee(mary.getId(), "Mary Two", 2000, 40, "manager", "m@x.com");
+        try (FileBackedEmployeeStore store = open(directory, () -> List.of(mary, jo, sameId))) {
+            List<MockEmployee> before = store.snapshot();
+
+            Optional<MockEmployee> removed = store.removeFirstByName("mary");
+
+            assertAll(
+                    () -> assertEquals(mary, removed.orElseThrow()),
+                    () -> assertEquals(List.of(mary, jo, sameId), List.copyOf(before)),
+                    () -> assertEquals(List.of(jo, sameId), List.copyOf(store.snapshot())),
+                    () -> assertEquals(sameId, store.snapshot().get(1)),
+                    () -> assertEquals(sameId, store.findById(mary.getId()).orElseThrow()));
+        }
+    }
+
+    @Test
+    void reopen_afterCrash_shouldReplayLogOntoSnapshot() throws IOException {
+        try (FileBackedEmployeeStore store = open(directory, () -> List.of(employee("Mary"), employee("Jo")))) {
+            store.add(employee("Added"));
+            store.removeFirstByName("Jo");
+            List<MockEmployee> expected = List.copyOf(store.snapshot());
+
+            copyFiles(directory, crashed);
+
+            try (FileBackedEmployeeStore recovered = open(crashed, NO_SEED)) {
+                assertEquals(expected, List.copyOf(recovered.snapshot()));
+            }
+        }
+    }
+
+    @Test
+    void reopen_truncatedLogTail_shouldKeepIntactRecordsAndAppendAfterThem() throws IOException {
+        MockEmployee first = employee("First");
+        MockEmployee second = employee("Second");
+        try (FileBackedEmployeeStore store = open(directory, List::of)) {
+            store.add(first);
+            store.add(second);
+            copyFiles(directory, crashed);
+        }
+        Path log = crashed.resolve(FileBackedEmployeeStore.LOG_FILE);
+        truncate(log, Files.size(log) - 5);
+
+        MockEmployee third = employee("Third");
+        Path crashedAgain = Files.createDirectory(directory.resolve("again"));
+        try (FileBackedEmployeeStore recovered = open(crashed, NO_SEED)) {
+            assertEquals(List.of(first), List.copyOf(recovered.snapshot()));
+            recovered.add(third);
+            copyFiles(crashed, crashedAgain);
+        }
+
+        try (FileBackedEmployeeStore reopened = open(crashedAgain, NO_SEED)) {
+            assertEquals(List.of(first, third), List.copyOf(reopened.snapshot()));
+        }
+    }
+
+    @Test
+    void reopen_corruptLogRecord_shouldDiscardItAndEverythingAfter() throws IOException {
+        MockEmployee first = employee("First");
+        try (FileBackedEmployeeStore store = open(directory, List::of)) {
+            store.add(first);
+            long secondRecordAt = Files.size(directory.resolve(FileBackedEmployeeStore.LOG_FILE));
+            store.add(employee("Second"));
+            store.add(employee("Third"));
+            copyFiles(directory, crashed);
+
+            Path log = crashed.resolve(FileBackedEmployeeStore.LOG_FILE);
+            byte[] bytes = Files.readAllBytes(log);
+            // Inside the second record's payload, past its length and checksum.
+            bytes[(int) secondRecordAt + 12] ^= 0x55;
+            Files.write(log, bytes);
+        }
+
+        try (FileBackedEmployeeStore recovered = open(crashed, NO_SEED)) {
+            assertEquals(List.of(first), List.copyOf(recovered.snapshot()));
+        }
+    }
+
+    @Test
+    void reopen_logFromEarlierGeneration_shouldBeIgnored() throws IOException {
+        MockEmployee added = employee("Added");
+        try (FileBackedEmployeeStore store = open(directory, List::of)) {
+            store.add(added);
+            Path staleLog = crashed.resolve("stale.log");
+            Files.copy(directory.resolve(FileBackedEmployeeStore.LOG_FILE), staleLog);
+
+            // The snapshot now holds the add, and the log of its generation is empty. Putting the older log back is
+            // what a crash between replacing the snapshot and restarting the log leaves behind.
+            store.compact();
+            copyFiles(directory, crashed);
+            Files.move(
+                    staleLog, crashed.resolve(FileBackedEmployeeStore.LOG_FILE), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        try (FileBackedEmployeeStore recovered = open(crashed, NO_SEED)) {
+            assertEquals(List.of(added), List.copyOf(recovered.snapshot()));
+        }
+    }
+
+    @Test
+    void compact_shouldFoldLogIntoSnapshot() throws IOException {
+        try (FileBackedEmployeeStore store = open(directory, List::of)) {
+            store.add(employee("Added"));
+            long logBytesBefore = store.logBytes();
+
+            store.compact();
+
+            assertAll(
+                    () -> assertTrue(store.logBytes() < logBytesBefore),
+                    () -> assertEquals(
+                            store.logBytes(), Files.size(directory.resolve(FileBackedEmployeeStore.LOG_FILE))));
+        }
+    }
+
+    private static FileBackedEmployeeStore open(Path directory, Supplier<List<MockEmployee>> seed) throws IOException {
+        return new FileBackedEmployeeStore(directory, seed, NO_COMPACTION);
+    }
+
+    /*
+     * What a crash leaves behind: the files as they are, without the compaction a close would run.
+     */
+    private static void copyFiles(Path from, Path to) throws IOException {
+        for (String file : List.of(FileBackedEmployeeStore.SNAPSHOT_FILE, FileBackedEmployeeStore.LOG_FILE)) {
+            Files.copy(from.resolve(file), to.resolve(file), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, (int) size));
+    }
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 1000, 30, "developer", "e@x.com");
+    }
+}
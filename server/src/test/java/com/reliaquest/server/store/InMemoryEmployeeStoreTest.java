@@ -0,0 +1,174 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class InMemoryEmployeeStoreTest {
+
+    @Test
+    void addRemoveAndFind_acrossCompaction_shouldMatchList() {
+        List<MockEmployee> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add(employee("Employee " + i, i));
+        }
+        InMemoryEmployeeStore store = new InMemoryEmployeeStore(expected);
+        int slotsBefore = store.slots();
+
+        List<MockEmployee> removed = new ArrayList<>();
+        for (int i = 0; i < 180; i++) {
+            removed.add(store.removeFirstByName("employee " + i).orElseThrow());
+        }
+        expected = new ArrayList<>(expected.subList(180, 200));
+        MockEmployee added = employee("Added", 1000);
+        store.add(added);
+        expected.add(added);
+
+        List<MockEmployee> remaining = expected;
+        assertAll(
+                () -> assertTrue(store.slots() < slotsBefore, "slots " + store.slots()),
+                () -> assertEquals(remaining, List.copyOf(store.snapshot())),
+                () -> remaining.forEach(employee ->
+                        assertEquals(employee, store.findById(employee.getId()).orElseThrow())),
+                () -> removed.forEach(
+                        employee -> assertTrue(store.findById(employee.getId()).isEmpty())),
+                () -> assertTrue(store.removeFirstByName("Employee 0").isEmpty()));
+    }
+
+    @Test
+    void removeFirstByName_sharedName_shouldRemoveInInsertionOrderIgnoringCase() {
+        MockEmployee first = employee("Jo Doe", 1);
+        MockEmployee other = employee("Mary Jane", 2);
+        MockEmployee second = employee("JO DOE", 3);
+        MockEmployee third = employee("jo doe", 4);
+        InMemoryEmployeeStore store = new InMemoryEmployeeStore(List.of(first, other, second, third));
+
+        MockEmployee removedFirst = store.removeFirstByName("jO dOE").orElseThrow();
+        MockEmployee removedSecond = store.removeFirstByName("Jo Doe").orElseThrow();
+
+        assertAll(
+                () -> assertSame(first, removedFirst),
+                () -> assertSame(second, removedSecond),
+                () -> assertEquals(List.of(other, third), List.copyOf(store.snapshot())),
+                () -> assertSame(third, store.removeFirstByName("JO DOE").orElseThrow()),
+                () -> assertTrue(store.removeFirstByName("jo doe").isEmpty()));
+    }
+
+    @Test
+    void removeFirstByName_duplicateId_shouldExposeNextEmployeeWithId() {
+        UUID id = UUID.randomUUID();
+        MockEmployee first = employee("First", 1).toBuilder().id(id).build();
+        MockEmployee second = employee("Second", 2).toBuilder().id(id).build();
+        InMemoryEmployeeStore store = new InMemoryEmployeeStore(List.of(first, second));
+
+        MockEmployee before = store.findById(id).orElseThrow();
+        store.removeFirstByName("First");
+
+        assertAll(
+                () -> assertSame(first, before),
+                () -> assertSame(second, store.findById(id).orElseThrow()));
+    }
+
+    @Test
+    void estimatedBytes_shouldGrowWithAddsAndShrinkBackOnRemoval() {
+        InMemoryEmployeeStore store = new InMemoryEmployeeStore(List.of(employee("First", 1)));
+        long before = store.estimatedBytes();
+
+        store.add(employee("Second", 2));
+        long afterAdd = store.estimatedBytes();
+        store.removeFirstByName("Second");
+
+        assertAll(() -> assertTrue(afterAdd > before), () -> assertEquals(before, store.estimatedBytes()));
+    }
+
+    @Test
+    void snapshot_shouldNotChangeAfterLaterWrites() {
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            employees.add(employee("Employee " + i, i));
+        }
+        InMemoryEmployeeStore store = new InMemoryEmployeeStore(employees);
+        List<MockEmployee> snapshot = store.snapshot();
+
+        for (int i = 0; i < 45; i++) {
+            store.removeFirstByName("Employee " + i);
+        }
+        store.add(employee("Added", 1000));
+
+        assertAll(
+                () -> assertEquals(employees, List.copyOf(snapshot)),
+                () -> assertEquals(50, snapshot.size()),
+                () -> assertEquals(6, store.snapshot().size()));
+    }
+
+    @Test
+    void concurrentReaders_shouldSeeConsistentSnapshotsWhileWriterChurns() throws Exception {
+        // The writer keeps a sliding window of consecutively numbered employees, so every snapshot must be one run of
+        // consecutive numbers, whatever the writer is doing meanwhile. The pinned employee is never removed.
+        MockEmployee pinned = employee("Pinned", -1);
+        List<MockEmployee> initial = new ArrayList<>(List.of(pinned));
+        for (int i = 0; i < 100; i++) {
+            initial.add(employee("Employee " + i, i));
+        }
+        InMemoryEmployeeStore store = new InMemoryEmployeeStore(initial);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(2);
+
+        Thread writer = new Thread(() -> {
+            started.countDown();
+            try {
+                started.await();
+                for (int i = 100; i < 20_000; i++) {
+                    store.add(employee("Employee " + i, i));
+                    store.removeFirstByName("Employee " + (i - 100));
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                writing.set(false);
+            }
+        });
+        Thread reader = new Thread(() -> {
+            started.countDown();
+            try {
+                while (writing.get()) {
+                    assertConsistent(store.snapshot());
+                    assertSame(pinned, store.findById(pinned.getId()).orElseThrow());
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+
+        assertAll(
+                () -> assertNull(failure.get()),
+                () -> assertConsistent(store.snapshot()),
+                () -> assertEquals(101, store.snapshot().size()));
+    }
+
+    private static void assertConsistent(List<MockEmployee> snapshot) {
+        List<MockEmployee> copy = List.copyOf(snapshot);
+        assertEquals(snapshot.size(), copy.size(), "size disagrees with iteration");
+        assertEquals("Pinned", copy.get(0).getName());
+        for (int i = 2; i < copy.size(); i++) {
+            assertEquals(copy.get(i - 1).getSalary() + 1, copy.get(i).getSalary(), "gap at " + i);
+        }
+        assertEquals(copy, List.copyOf(snapshot), "snapshot changed between iterations");
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "developer", "e@x.com");
+    }
+}
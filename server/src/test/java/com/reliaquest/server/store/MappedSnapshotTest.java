@@ -0,0 +1,73 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedSnapshotTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void open_shouldReadEmployeesInPlace() throws IOException {
+        List<MockEmployee> employees = IntStream.range(0, 100)
+                .mapToObj(i -> employee(UUID.randomUUID(), "Employee " + i))
+                .toList();
+        MappedSnapshot snapshot = write(7, employees);
+
+        assertAll(
+                () -> assertEquals(7, snapshot.generation()),
+                () -> assertEquals(100, snapshot.count()),
+                () -> assertEquals(employees.get(42), snapshot.employee(42)),
+                () -> assertEquals(42, snapshot.firstWithId(employees.get(42).getId(), i -> true)),
+                () -> assertEquals(42, snapshot.firstNamed("EMPLOYEE 42", i -> true)),
+                () -> assertEquals(-1, snapshot.firstWithId(UUID.randomUUID(), i -> true)),
+                () -> assertEquals(-1, snapshot.firstNamed("Nobody", i -> true)));
+    }
+
+    @Test
+    void firstNamed_sharedName_shouldReturnEarliestAcceptedInRosterOrder() throws IOException {
+        UUID shared = UUID.randomUUID();
+        MockEmployee missing = new MockEmployee(null, null, null, null, null, null);
+        MappedSnapshot snapshot = write(
+                1, List.of(employee(shared, "Jo"), missing, employee(UUID.randomUUID(), "jO"), employee(shared, "Al")));
+
+        assertAll(
+                () -> assertEquals(missing, snapshot.employee(1)),
+                () -> assertEquals(0, snapshot.firstNamed("JO", i -> true)),
+                () -> assertEquals(2, snapshot.firstNamed("JO", i -> i != 0)),
+                () -> assertEquals(-1, snapshot.firstNamed("JO", i -> false)),
+                () -> assertEquals(0, snapshot.firstWithId(shared, i -> true)),
+                () -> assertEquals(3, snapshot.firstWithId(shared, i -> i != 0)));
+    }
+
+    @Test
+    void open_truncatedFile_shouldBeRejected() throws IOException {
+        Path file = directory.resolve("employees.snapshot");
+        MappedSnapshot.write(file, 1, List.of(employee(UUID.randomUUID(), "Jo")));
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> MappedSnapshot.open(file));
+    }
+
+    private MappedSnapshot write(long generation, List<MockEmployee> employees) throws IOException {
+        Path file = directory.resolve("employees.snapshot");
+        MappedSnapshot.write(file, generation, employees);
+        return MappedSnapshot.open(file);
+    }
+
+    private static MockEmployee employee(UUID id, String name) {
+        return new MockEmployee(id, name, 1000, 30, "developer", "e@x.com");
+    }
+}
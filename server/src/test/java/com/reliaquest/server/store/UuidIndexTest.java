@@ -0,0 +1,97 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidIndexTest {
+
+    @Test
+    void putAndRemove_shouldMatchHashMap() {
+        Random random = new Random(17);
+        UuidIndex<String> index = new UuidIndex<>();
+        Map<UUID, String> expected = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            if (random.nextInt(3) == 0 && !ids.isEmpty()) {
+                UUID removed = ids.remove(random.nextInt(ids.size()));
+                index.remove(removed, expected.remove(removed));
+            } else {
+                // Time-ordered ids share their high bits, which stresses the probing.
+                UUID added = new UUID(0x1EF0000000000000L | random.nextInt(64), random.nextLong());
+                ids.add(added);
+                expected.put(added, "value " + i);
+                assertTrue(index.putIfAbsent(added, "value " + i));
+            }
+        }
+
+        for (UUID id : ids) {
+            assertEquals(expected.get(id), index.get(id));
+        }
+        assertNull(index.get(new UUID(1, 2)));
+    }
+
+    @Test
+    void putIfAbsent_shouldKeepFirstValue() {
+        UuidIndex<String> index = new UuidIndex<>();
+        UUID id = UUID.randomUUID();
+
+        boolean first = index.putIfAbsent(id, "first");
+        boolean second = index.putIfAbsent(id, "second");
+
+        assertAll(() -> assertTrue(first), () -> assertFalse(second), () -> assertEquals("first", index.get(id)));
+    }
+
+    @Test
+    void remove_otherValue_shouldKeepEntry() {
+        UuidIndex<String> index = new UuidIndex<>();
+        UUID id = UUID.randomUUID();
+        index.putIfAbsent(id, "first");
+
+        index.remove(id, "second");
+
+        assertEquals("first", index.get(id));
+    }
+
+    @Test
+    void remove_thenPutSameId_shouldIndexNewValue() {
+        UuidIndex<String> index = new UuidIndex<>();
+        UUID id = UUID.randomUUID();
+        index.putIfAbsent(id, "first");
+
+        index.remove(id, "first");
+        boolean put = index.putIfAbsent(id, "second");
+
+        assertAll(() -> assertTrue(put), () -> assertEquals("second", index.get(id)));
+    }
+
+    @Test
+    void churn_shouldReclaimTombstonesRatherThanGrow() {
+        UuidIndex<UUID> index = new UuidIndex<>();
+        List<UUID> live = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            UUID id = UUID.randomUUID();
+            live.add(id);
+            index.putIfAbsent(id, id);
+        }
+
+        for (int i = 0; i < 100_000; i++) {
+            UUID removed = live.remove(0);
+            index.remove(removed, removed);
+            UUID added = UUID.randomUUID();
+            live.add(added);
+            index.putIfAbsent(added, added);
+        }
+
+        assertAll(
+                () -> assertTrue(index.capacity() <= 64, "capacity " + index.capacity()),
+                () -> live.forEach(id -> assertSame(id, index.get(id))));
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class BurstBackoffTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final BurstBackoff backoff = new BurstBackoff(3, Duration.ofSeconds(10));
+    private final AtomicLong state = new AtomicLong();
+
+    @Test
+    void burstUpToLimit_shouldBeAdmittedThenRejectedUntilBackoffPassed() {
+        assertAll(
+                () -> assertEquals(2, backoff.tryAcquire(state, 0)),
+                () -> assertEquals(1, backoff.tryAcquire(state, SECOND)),
+                () -> assertEquals(0, backoff.tryAcquire(state, 2 * SECOND)),
+                () -> assertEquals(-10 * SECOND, backoff.tryAcquire(state, 2 * SECOND)),
+                () -> assertEquals(-SECOND, backoff.tryAcquire(state, 11 * SECOND)),
+                () -> assertEquals(2, backoff.tryAcquire(state, 12 * SECOND)));
+    }
+
+    @Test
+    void rejection_shouldNotExtendBackoff() {
+        for (int i = 0; i < 3; i++) {
+            backoff.tryAcquire(state, 0);
+        }
+
+        for (long now = SECOND; now < 10 * SECOND; now += SECOND) {
+            assertTrue(backoff.tryAcquire(state, now) < 0);
+        }
+
+        assertEquals(2, backoff.tryAcquire(state, 10 * SECOND));
+    }
+
+    @Test
+    void resetNanos_shouldCountDownFromLastAdmittedRequest() {
+        long fresh = backoff.resetNanos(state.get(), 0);
+        backoff.tryAcquire(state, SECOND);
+
+        assertAll(
+                () -> assertEquals(0, fresh),
+                () -> assertEquals(10 * SECOND, backoff.resetNanos(state.get(), SECOND)),
+                () -> assertEquals(4 * SECOND, backoff.resetNanos(state.get(), 7 * SECOND)),
+                () -> assertEquals(0, backoff.resetNanos(state.get(), 11 * SECOND)));
+    }
+
+    @Test
+    void limitOutOfRange_shouldBeRejected() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new BurstBackoff(0, Duration.ofSeconds(1))),
+                () -> assertThrows(
+                        IllegalArgumentException.class,
+                        () -> new BurstBackoff(BurstBackoff.MAX_LIMIT + 1, Duration.ofSeconds(1))));
+    }
+}
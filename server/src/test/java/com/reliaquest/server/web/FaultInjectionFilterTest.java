@@ -0,0 +1,267 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class FaultInjectionFilterTest {
+
+    private static final byte[] BODY = "0123456789".getBytes(StandardCharsets.UTF_8);
+    private static final Duration DELAY = Duration.ofMillis(50);
+    private static final Duration DRIP_INTERVAL = Duration.ofMillis(10);
+
+    private final AtomicInteger handled = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> {
+        handled.incrementAndGet();
+        response.getOutputStream().write(BODY);
+    };
+
+    private final FaultInjectionFilter filter = new FaultInjectionFilter(
+            new ObjectMapper(),
+            List.of(
+                    new FaultRule("GET", "/delay", latency(), 0, 0, 0, 0, null),
+                    new FaultRule("GET", "/error", null, 1, 0, 0, 0, null),
+                    new FaultRule("GET", "/drip", null, 0, 0, 1, 4, DRIP_INTERVAL),
+                    new FaultRule(null, "/**", null, 1, 0, 0, 0, null)));
+
+    @AfterEach
+    void tearDown() {
+        filter.destroy();
+    }
+
+    @Test
+    void errorRule_shouldAnswer5xxWithoutHandlingRequest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/error"), response, chain);
+
+        assertAll(
+                () -> assertTrue(response.getStatus() >= 500 && response.getStatus() <= 504),
+                () -> assertTrue(response.getContentAsString().contains("Injected fault")),
+                () -> assertEquals(0, handled.get()),
+                () -> assertEquals(1, filter.injectedErrors()));
+    }
+
+    @Test
+    void adminRequest_shouldNeverBeFaulted() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request("/admin/faults"), response, chain);
+
+        assertAll(() -> assertEquals(200, response.getStatus()), () -> assertEquals(1, handled.get()));
+    }
+
+    @Test
+    void latencyRule_shouldHandleRequestOnlyAfterDelayWithoutCountingAFault() throws Exception {
+        MockHttpServletRequest request = request("/delay");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        long started = System.nanoTime();
+        filter.doFilter(request, response, chain);
+        int handledBeforeDelay = handled.get();
+        CountDownLatch redispatched = redispatchOnDispatch(request, response);
+
+        assertAll(
+                () -> assertEquals(0, handledBeforeDelay),
+                () -> assertTrue(redispatched.await(5, TimeUnit.SECONDS)),
+                () -> assertTrue(System.nanoTime() - started >= DELAY.toNanos()),
+                () -> assertEquals(1, handled.get()),
+                () -> assertArrayEquals(BODY, response.getContentAsByteArray()),
+                () -> assertEquals(1, filter.delayedRequests()),
+                () -> assertEquals(
+                        0, filter.injectedErrors() + filter.droppedConnections() + filter.drippedResponses()));
+    }
+
+    @Test
+    void dripRule_shouldWriteWholeBodyAChunkPerInterval() throws Exception {
+        MockHttpServletRequest request = request("/drip");
+        NonBlockingResponse response = new NonBlockingResponse(true);
+
+        filter.doFilter(request, response, chain);
+        awaitCompletion(request);
+
+        assertAll(
+                () -> assertArrayEquals(BODY, response.output.written()),
+                () -> assertEquals(List.of(4, 4, 2), response.output.chunks()),
+                () -> assertEquals(BODY.length, response.getContentLength()),
+                () -> assertEquals(1, filter.drippedResponses()));
+    }
+
+    @Test
+    void dripToClientNotReading_shouldNotHoldUpDelayedRequests() throws Exception {
+        // More stalled drips than the filter has scheduler threads: none of them may occupy one.
+        List<MockHttpServletRequest> dripRequests = new ArrayList<>();
+        List<NonBlockingResponse> dripResponses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest dripRequest = request("/drip");
+            NonBlockingResponse dripResponse = new NonBlockingResponse(false);
+            filter.doFilter(dripRequest, dripResponse, chain);
+            dripRequests.add(dripRequest);
+            dripResponses.add(dripResponse);
+        }
+
+        MockHttpServletRequest request = request("/delay");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        CountDownLatch redispatched = redispatchOnDispatch(request, response);
+        boolean delayedServed = redispatched.await(5, TimeUnit.SECONDS);
+
+        for (NonBlockingResponse dripResponse : dripResponses) {
+            dripResponse.output.becomeReady();
+        }
+        for (MockHttpServletRequest dripRequest : dripRequests) {
+            awaitCompletion(dripRequest);
+        }
+
+        assertAll(
+                () -> assertTrue(delayedServed),
+                () -> dripResponses.forEach(dripResponse -> assertArrayEquals(BODY, dripResponse.output.written())));
+    }
+
+    private static FaultRule.Latency latency() {
+        return new FaultRule.Latency(FaultRule.Distribution.FIXED, DELAY, null, 0);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    /*
+     * The mock async context does not dispatch again by itself, so do what the container would. A handler added after
+     * the dispatch runs at once.
+     */
+    private CountDownLatch redispatchOnDispatch(MockHttpServletRequest request, MockHttpServletResponse response) {
+        CountDownLatch redispatched = new CountDownLatch(1);
+        ((MockAsyncContext) request.getAsyncContext()).addDispatchHandler(() -> {
+            try {
+                request.setDispatcherType(DispatcherType.ASYNC);
+                filter.doFilter(request, response, chain);
+                redispatched.countDown();
+            } catch (IOException | ServletException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return redispatched;
+    }
+
+    private static void awaitCompletion(MockHttpServletRequest request) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (request.isAsyncStarted() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertFalse(request.isAsyncStarted(), "drip did not complete");
+    }
+
+    private static final class NonBlockingResponse extends MockHttpServletResponse {
+
+        private final NonBlockingOutput output;
+
+        NonBlockingResponse(boolean ready) {
+            this.output = new NonBlockingOutput(ready);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return output;
+        }
+    }
+
+    /**
+     * Non-blocking output like the container's: writes are only allowed while {@link #isReady()}, and the listener
+     * hears when writing is possible again. A write made while not ready blocks, like a blocking stream would.
+     */
+    private static final class NonBlockingOutput extends ServletOutputStream {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final List<Integer> chunks = new ArrayList<>();
+        private boolean ready;
+        private WriteListener listener;
+
+        NonBlockingOutput(boolean ready) {
+            this.ready = ready;
+        }
+
+        @Override
+        public synchronized boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            synchronized (this) {
+                listener = writeListener;
+            }
+            notifyIfReady();
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            while (!ready) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            bytes.write(b, off, len);
+            chunks.add(len);
+        }
+
+        void becomeReady() {
+            synchronized (this) {
+                ready = true;
+                notifyAll();
+            }
+            notifyIfReady();
+        }
+
+        synchronized byte[] written() {
+            return bytes.toByteArray();
+        }
+
+        synchronized List<Integer> chunks() {
+            return List.copyOf(chunks);
+        }
+
+        private void notifyIfReady() {
+            WriteListener current;
+            synchronized (this) {
+                current = ready ? listener : null;
+            }
+            if (current != null) {
+                try {
+                    current.onWritePossible();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitInterceptorTest {
+
+    private static final String CLIENT_HEADER = "X-Client-Id";
+    private static final Duration BACKOFF = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void admittedRequest_shouldCarryQuotaHeaders() {
+        RateLimitInterceptor interceptor = interceptor(3, 10);
+
+        MockHttpServletResponse first = handle(interceptor, "a");
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        MockHttpServletResponse second = handle(interceptor, "a");
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK.value(), first.getStatus()),
+                () -> assertEquals("3", first.getHeader(RateLimitInterceptor.LIMIT_HEADER)),
+                () -> assertEquals("2", first.getHeader(RateLimitInterceptor.REMAINING_HEADER)),
+                () -> assertEquals("30", first.getHeader(RateLimitInterceptor.RESET_HEADER)),
+                () -> assertNull(first.getHeader(HttpHeaders.RETRY_AFTER)),
+                () -> assertEquals("1", second.getHeader(RateLimitInterceptor.REMAINING_HEADER)),
+                () -> assertEquals("30", second.getHeader(RateLimitInterceptor.RESET_HEADER)));
+    }
+
+    @Test
+    void spentQuota_shouldAnswer429WithRetryAfterInWholeSeconds() {
+        RateLimitInterceptor interceptor = interceptor(2, 10);
+        handle(interceptor, "a");
+        handle(interceptor, "a");
+        clock.addAndGet(Duration.ofMillis(10_500).toNanos());
+
+        MockHttpServletRequest request = request("a");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        assertAll(
+                () -> assertFalse(proceed),
+                () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus()),
+                () -> assertEquals("20", response.getHeader(HttpHeaders.RETRY_AFTER)),
+                () -> assertEquals("0", response.getHeader(RateLimitInterceptor.REMAINING_HEADER)),
+                () -> assertEquals("20", response.getHeader(RateLimitInterceptor.RESET_HEADER)),
+                () -> assertEquals(2, interceptor.admitted()),
+                () -> assertEquals(1, interceptor.rejected()));
+    }
+
+    @Test
+    void spentQuota_shouldBeRestoredAfterBackoff() {
+        RateLimitInterceptor interceptor = interceptor(1, 10);
+        handle(interceptor, "a");
+        clock.addAndGet(BACKOFF.toNanos());
+
+        MockHttpServletResponse response = handle(interceptor, "a");
+
+        assertEquals(HttpStatus.OK.value(), response.getStatus());
+    }
+
+    @Test
+    void clients_shouldBeLimitedSeparately() {
+        RateLimitInterceptor interceptor = interceptor(1, 10);
+        handle(interceptor, "a");
+
+        MockHttpServletResponse otherClient = handle(interceptor, "b");
+        MockHttpServletResponse sameClient = handle(interceptor, "a");
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK.value(), otherClient.getStatus()),
+                () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), sameClient.getStatus()),
+                () -> assertEquals(2, interceptor.trackedClients()));
+    }
+
+    @Test
+    void missingClientHeader_shouldFallBackToRemoteAddress() {
+        RateLimitInterceptor interceptor = interceptor(1, 10);
+        handle(interceptor, null);
+
+        MockHttpServletResponse sameAddress = handle(interceptor, "");
+        MockHttpServletRequest otherAddress = request(null);
+        otherAddress.setRemoteAddr("10.0.0.2");
+        MockHttpServletResponse otherAddressResponse = new MockHttpServletResponse();
+        interceptor.preHandle(otherAddress, otherAddressResponse, new Object());
+
+        assertAll(
+                () -> assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), sameAddress.getStatus()),
+                () -> assertEquals(HttpStatus.OK.value(), otherAddressResponse.getStatus()));
+    }
+
+    @Test
+    void newClientBeyondCapacity_shouldForgetClientsWithFullQuotaFirst() {
+        RateLimitInterceptor interceptor = interceptor(1, 3);
+        handle(interceptor, "a");
+        handle(interceptor, "b");
+        clock.addAndGet(BACKOFF.toNanos());
+        handle(interceptor, "c");
+
+        handle(interceptor, "d");
+
+        // a and b had their full quota back, so forgetting them changed nothing; c is still limited.
+        assertAll(
+                () -> assertEquals(2, interceptor.trackedClients()),
+                () -> assertEquals(
+                        HttpStatus.TOO_MANY_REQUESTS.value(),
+                        handle(interceptor, "c").getStatus()));
+    }
+
+    @Test
+    void newClientBeyondCapacity_allLimited_shouldForgetArbitraryClients() {
+        RateLimitInterceptor interceptor = interceptor(1, 3);
+        handle(interceptor, "a");
+        handle(interceptor, "b");
+        handle(interceptor, "c");
+
+        MockHttpServletResponse response = handle(interceptor, "d");
+
+        assertAll(
+                () -> assertEquals(HttpStatus.OK.value(), response.getStatus()),
+                () -> assertEquals(3, interceptor.trackedClients()));
+    }
+
+    private RateLimitInterceptor interceptor(int limit, int maxClients) {
+        return new RateLimitInterceptor(new BurstBackoff(limit, BACKOFF), CLIENT_HEADER, maxClients, clock::get);
+    }
+
+    private static MockHttpServletResponse handle(RateLimitInterceptor interceptor, String client) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request(client), response, new Object());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr("10.0.0.1");
+        if (client != null) {
+            request.addHeader(CLIENT_HEADER, client);
+        }
+        return request;
+    }
+}
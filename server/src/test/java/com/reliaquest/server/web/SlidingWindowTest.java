@@ -0,0 +1,63 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final SlidingWindow window = new SlidingWindow(4, Duration.ofSeconds(10));
+    private final AtomicLong state = new AtomicLong();
+
+    @Test
+    void fullWindow_shouldRejectUntilPreviousCountHasFadedEnough() {
+        for (int remaining = 3; remaining >= 0; remaining--) {
+            assertEquals(remaining, window.tryAcquire(state, 0));
+        }
+
+        long rejected = window.tryAcquire(state, 0);
+        // In the next window the four requests still weigh 4 * (1 - elapsed), which drops to 3 a quarter of the way in.
+        assertAll(
+                () -> assertEquals(-12_500_000_000L, rejected),
+                () -> assertTrue(window.tryAcquire(state, 12_400_000_000L) < 0),
+                () -> assertEquals(0, window.tryAcquire(state, 12_500_000_000L)));
+    }
+
+    @Test
+    void rejectionWithinWindow_shouldRetryOnceEnoughOfPreviousWindowHasFaded() {
+        for (int i = 0; i < 4; i++) {
+            window.tryAcquire(state, 9 * SECOND);
+        }
+        // At 12 s the previous window weighs 4 * 0.8 = 3.2, so one more request fits once it weighs 3, at 12.5 s.
+        long rejected = window.tryAcquire(state, 12 * SECOND);
+
+        assertAll(
+                () -> assertEquals(-SECOND / 2, rejected),
+                () -> assertEquals(0, window.tryAcquire(state, 12 * SECOND + SECOND / 2)));
+    }
+
+    @Test
+    void quietForTwoWindows_shouldStartOver() {
+        for (int i = 0; i < 4; i++) {
+            window.tryAcquire(state, 0);
+        }
+
+        assertEquals(3, window.tryAcquire(state, 20 * SECOND));
+    }
+
+    @Test
+    void resetNanos_shouldBeTimeUntilCountsHaveExpired() {
+        long fresh = window.resetNanos(state.get(), 0);
+        window.tryAcquire(state, 3 * SECOND);
+
+        assertAll(
+                () -> assertEquals(0, fresh),
+                () -> assertEquals(17 * SECOND, window.resetNanos(state.get(), 3 * SECOND)),
+                () -> assertEquals(5 * SECOND, window.resetNanos(state.get(), 15 * SECOND)),
+                () -> assertEquals(0, window.resetNanos(state.get(), 20 * SECOND)));
+    }
+}
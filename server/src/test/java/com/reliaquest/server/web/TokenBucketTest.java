@@ -0,0 +1,48 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final TokenBucket bucket = new TokenBucket(4, Duration.ofSeconds(4));
+    private final AtomicLong state = new AtomicLong();
+
+    @Test
+    void fullBucket_shouldAdmitBurstThenPaceToRefillRate() {
+        assertAll(
+                () -> assertEquals(3, bucket.tryAcquire(state, 0)),
+                () -> assertEquals(2, bucket.tryAcquire(state, 0)),
+                () -> assertEquals(1, bucket.tryAcquire(state, 0)),
+                () -> assertEquals(0, bucket.tryAcquire(state, 0)),
+                () -> assertEquals(-SECOND, bucket.tryAcquire(state, 0)),
+                () -> assertEquals(-SECOND / 2, bucket.tryAcquire(state, SECOND / 2)),
+                () -> assertEquals(0, bucket.tryAcquire(state, SECOND)),
+                () -> assertEquals(-SECOND, bucket.tryAcquire(state, SECOND)));
+    }
+
+    @Test
+    void idleClient_shouldRefillOnlyUpToLimit() {
+        bucket.tryAcquire(state, 0);
+
+        assertEquals(3, bucket.tryAcquire(state, 100 * SECOND));
+    }
+
+    @Test
+    void resetNanos_shouldBeTimeUntilBucketIsFull() {
+        long fresh = bucket.resetNanos(state.get(), 0);
+        bucket.tryAcquire(state, 0);
+        bucket.tryAcquire(state, 0);
+
+        assertAll(
+                () -> assertEquals(0, fresh),
+                () -> assertEquals(2 * SECOND, bucket.resetNanos(state.get(), 0)),
+                () -> assertEquals(SECOND / 2, bucket.resetNanos(state.get(), 3 * SECOND / 2)),
+                () -> assertEquals(0, bucket.resetNanos(state.get(), 2 * SECOND)));
+    }
+}